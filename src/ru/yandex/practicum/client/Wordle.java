@@ -1,8 +1,16 @@
 package ru.yandex.practicum.client;
 
 import ru.yandex.practicum.client.exception.WordleGameNoAttemptsLeftException;
+import ru.yandex.practicum.client.game.BackgroundDictionary;
+import ru.yandex.practicum.client.game.DictionaryRegistry;
+import ru.yandex.practicum.client.game.DictionaryReloader;
+import ru.yandex.practicum.client.game.DifficultyStats;
+import ru.yandex.practicum.client.game.DifficultyTiers;
+import ru.yandex.practicum.client.game.EntropyHintStrategy;
+import ru.yandex.practicum.client.game.HintStrategy;
+import ru.yandex.practicum.client.game.PlayedWordsRepository;
+import ru.yandex.practicum.client.game.WordleAlphabet;
 import ru.yandex.practicum.client.game.WordleDictionary;
-import ru.yandex.practicum.client.game.WordleDictionaryLoader;
 import ru.yandex.practicum.client.game.WordleGame;
 import ru.yandex.practicum.client.game.WordleGameState;
 import ru.yandex.practicum.client.network.WordleClient;
@@ -14,6 +22,7 @@ import ru.yandex.practicum.common.dto.serverstatistic.WordleServerStatisticItem;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Scanner;
 
 import static ru.yandex.practicum.client.game.WordleGame.MAX_STEPS;
@@ -24,8 +33,15 @@ public class Wordle {
     private final String TAG = getClass().getSimpleName();
     private static final String LOGS_FILE = "log.txt";
     private static final String WORDS_FILE = "words_ru.txt";
+    private static final String ANSWERS_FILE = "words_ru_answers.txt";
+    private static final long DICTIONARIES_MEMORY_BUDGET = 64L * 1024 * 1024;
+    public static final int DEFAULT_WORD_LENGTH = 5;
+    private static final String AUTOCOMPLETE_SUFFIX = "*";
+    private static final int AUTOCOMPLETE_LIMIT = 10;
+    private static final String INFORMATIVE_HINT_INPUT = "?";
+    private static final HintStrategy INFORMATIVE_HINT_STRATEGY = new EntropyHintStrategy();
+    private static final long INFORMATIVE_HINT_BUDGET_MILLIS = 200;
     private static final String USERNAME_CHECK_REGEX = "[A-zА-ЯЁа-яё0-9 ]+";
-    private static final String VALID_CHARS_REGEX = "[А-ЯЁа-яё]+";
 
     private final Logger logger;
     private final WordleClient wordleClient;
@@ -42,10 +58,49 @@ public class Wordle {
                 Logger logger = new Logger(writer)
         ) {
             try {
-                WordleDictionary wordleDictionary =
-                        new WordleDictionaryLoader(logger).loadWords(WORDS_FILE, WordleGame.WORD_LENGTH, VALID_CHARS_REGEX);
-                WordleGame wordleGame = new WordleGame(logger, wordleDictionary);
-                new Wordle(logger).playGame(wordleGame, System.in);
+                DictionaryRegistry registry = new DictionaryRegistry(logger, DICTIONARIES_MEMORY_BUDGET);
+                // без отдельного списка загадываемых слов ответы выбираются из всего словаря
+                String answersFile = new File(ANSWERS_FILE).exists() ? ANSWERS_FILE : null;
+                registry.registerLanguage(DictionaryRegistry.RUSSIAN, WORDS_FILE, answersFile, WordleAlphabet.RUSSIAN);
+                int wordLength = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WORD_LENGTH;
+                String language = args.length > 1 ? args[1] : DictionaryRegistry.RUSSIAN;
+                String username = args.length > 2 ? args[2] : null;
+                DifficultyTiers.Difficulty difficulty = args.length > 3 ? DifficultyTiers.Difficulty.valueOf(args[3].toUpperCase()) : null;
+                DifficultyStats difficultyStats = difficulty != null ? registry.getDifficultyStats(language, wordLength) : null;
+                // быстрый старт по шарду ответов; история сыгранных слов записана по индексам полного списка ответов
+                WordleDictionary shard = username == null ? registry.getAnswerShard(language, wordLength) : null;
+                if (shard != null) {
+                    WordleGame wordleGame = createFastStartGame(logger, registry, language, wordLength, shard);
+                    if (difficultyStats != null) {
+                        wordleGame.setDifficulty(difficultyStats, difficulty);
+                    }
+                    new Wordle(logger).playGame(wordleGame, System.in);
+                } else {
+                    try (
+                            DictionaryReloader answersReloader = registry.watchAnswers(language, wordLength);
+                            DictionaryReloader guessesReloader = registry.watch(language, wordLength)
+                    ) {
+                        answersReloader.start();
+                        guessesReloader.start();
+                        WordleGame wordleGame = new WordleGame(logger, answersReloader, guessesReloader);
+                        wordleGame.setFeedbackMatrix(registry.getFeedbackMatrix(language, wordLength));
+                        if (difficultyStats != null) {
+                            wordleGame.setDifficulty(difficultyStats, difficulty);
+                        }
+                        PlayedWordsRepository playedWords = null;
+                        if (username != null) {
+                            // при перезагрузке словаря ответов игра переводит историю на индексы новой версии
+                            playedWords = new PlayedWordsRepository(logger,
+                                    PlayedWordsRepository.fileName(language, wordLength), answersReloader.get());
+                            playedWords.load();
+                            wordleGame.setPlayedWords(playedWords, username);
+                        }
+                        new Wordle(logger).playGame(wordleGame, System.in);
+                        if (playedWords != null) {
+                            playedWords.save();
+                        }
+                    }
+                }
             } catch (Exception e) {
                 e.printStackTrace(logger);
             }
@@ -54,18 +109,49 @@ public class Wordle {
         }
     }
 
+    // Ответ первой игры берется из шарда, и приглашение выводится сразу. Полные словари загружаются в фоне, без
+    // отслеживания изменений файлов: проверка слова не из шарда ждет только загрузки словаря допустимых слов,
+    // а индексы подсказок и дополнения строятся уже после нее
+    private static WordleGame createFastStartGame(Logger logger, DictionaryRegistry registry, String language, int wordLength,
+                                                  WordleDictionary shard) {
+        logger.log(Wordle.class.getSimpleName(), "Быстрый старт: в шарде ответов " + shard.size() + " слов");
+        BackgroundDictionary answers = new BackgroundDictionary(logger, "answers",
+                () -> registry.getAnswers(language, wordLength), dictionary -> {
+                    dictionary.getLetterIndex();
+                    dictionary.getLetterMasks();
+                    dictionary.getFeedbackBatch();
+                    dictionary.getOpeningGuess();
+                }, shard).start();
+        BackgroundDictionary guesses = new BackgroundDictionary(logger, "guesses",
+                () -> registry.get(language, wordLength), dictionary -> {
+                    dictionary.getPrefixIndex();
+                    dictionary.getSuggestionIndex();
+                }, null).start();
+        return new WordleGame(logger, answers, guesses);
+    }
+
     public void playGame(WordleGame wordleGame, InputStream inputStream) throws IOException, InterruptedException {
         logger.log(TAG, "Начало игры");
         try (
                 Scanner scanner = new Scanner(inputStream)
         ) {
-            System.out.println("Угадайте слово из пяти букв, у вас шесть попыток \nEnter - ввод слова или подсказка");
+            System.out.printf("Угадайте слово из %d букв, у вас %d попыток %nEnter - ввод слова или подсказка, ? - подсказка, сильнее всего сужающая выбор, начало слова и * - варианты слов%n",
+                    wordleGame.getWordLength(), MAX_STEPS);
             while (!wordleGame.isEnd()) {
                 logger.log(TAG, "Ждём ввода слова");
                 String candidate = scanner.nextLine();
-                if (candidate.isBlank()) {
+                if (candidate.endsWith(AUTOCOMPLETE_SUFFIX)) {
+                    String prefix = candidate.substring(0, candidate.length() - AUTOCOMPLETE_SUFFIX.length()).strip();
+                    List<String> completions = wordleGame.complete(prefix, AUTOCOMPLETE_LIMIT);
+                    logger.log(TAG, "Пользователь запросил варианты для \"" + prefix + "\", найдено: " + completions.size());
+                    System.out.println(completions.isEmpty() ? "Нет слов с таким началом" : String.join(" ", completions));
+                    continue;
+                }
+                boolean informativeHint = candidate.strip().equals(INFORMATIVE_HINT_INPUT);
+                if (candidate.isBlank() || informativeHint) {
                     try {
-                        candidate = wordleGame.guessWord();
+                        candidate = informativeHint ? wordleGame.guessWord(INFORMATIVE_HINT_STRATEGY, INFORMATIVE_HINT_BUDGET_MILLIS)
+                                : wordleGame.guessWord();
                     } catch (WordleGameNoAttemptsLeftException e) {
                         throw new RuntimeException("Подсказка запросилась после завершения игры (кончились попытки)", e);
                     }
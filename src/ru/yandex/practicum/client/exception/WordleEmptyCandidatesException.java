@@ -1,7 +1,5 @@
 package ru.yandex.practicum.client.exception;
 
-import java.util.Collection;
-
 public class WordleEmptyCandidatesException extends RuntimeException {
 
     private final String okLetters;
@@ -11,23 +9,12 @@ public class WordleEmptyCandidatesException extends RuntimeException {
     private final String maybeLetters;
 
 
-    public WordleEmptyCandidatesException(Collection<Character> skipLetters, Collection<Character> maybeLetters, Collection<Character> okLetters) {
+    // Буквы строками; в okLetters неизвестная позиция - '_'
+    public WordleEmptyCandidatesException(String skipLetters, String maybeLetters, String okLetters) {
         super("Не найдено подходящее слово для заданных условий");
-        this.okLetters = join(okLetters);
-        this.skipLetters = join(skipLetters);
-        this.maybeLetters = join(maybeLetters);
-    }
-
-    private static String join(Collection<Character> chars) {
-        StringBuilder sb = new StringBuilder();
-        for (Character c : chars) {
-            if (c == null) {
-                sb.append('_');
-                continue;
-            }
-            sb.append(c);
-        }
-        return sb.toString();
+        this.okLetters = okLetters;
+        this.skipLetters = skipLetters;
+        this.maybeLetters = maybeLetters;
     }
 
     @Override
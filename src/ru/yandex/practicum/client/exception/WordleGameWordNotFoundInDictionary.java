@@ -1,8 +1,27 @@
 package ru.yandex.practicum.client.exception;
 
+import java.util.List;
+
 public class WordleGameWordNotFoundInDictionary extends WordleGameException {
 
+    private final List<String> suggestions;
+
     public WordleGameWordNotFoundInDictionary(String word) {
+        this(word, List.of());
+    }
+
+    public WordleGameWordNotFoundInDictionary(String word, List<String> suggestions) {
         super("Слово не существует", word);
+        this.suggestions = List.copyOf(suggestions);
+    }
+
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    @Override
+    public String getMessage() {
+        if (suggestions.isEmpty()) return super.getMessage();
+        return String.format("%s, возможно, вы имели в виду: %s", super.getMessage(), String.join(", ", suggestions));
     }
 }
@@ -0,0 +1,66 @@
+package ru.yandex.practicum.client.game;
+
+import java.util.Random;
+
+// Таблицы Уолкера (метод псевдонимов, построение по Возе): выбор индекса с вероятностью, пропорциональной
+// весу, за O(1) и без выделения памяти - случайный столбец и одно сравнение с его порогом.
+class AliasTable {
+    private final float[] probability;
+    private final int[] alias;
+
+    AliasTable(float[] weights) {
+        int size = weights.length;
+        double total = 0;
+        for (float weight : weights) {
+            if (!(weight >= 0) || Float.isInfinite(weight)) {
+                throw new IllegalArgumentException("Вес слова должен быть неотрицательным числом: " + weight);
+            }
+            total += weight;
+        }
+        if (!(total > 0)) throw new IllegalArgumentException("Сумма весов слов должна быть положительной");
+        probability = new float[size];
+        alias = new int[size];
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        // недостающая до 1 доля легкого столбца добирается из тяжелого
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = (float) scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // остатки отличаются от 1 только ошибкой округления
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1;
+        }
+    }
+
+    int sample(Random random) {
+        int column = random.nextInt(probability.length);
+        return random.nextFloat() < probability[column] ? column : alias[column];
+    }
+
+    long sizeInBytes() {
+        return (long) probability.length * (Float.BYTES + Integer.BYTES);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.Logger;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Словарь, который загружается в фоновом потоке, чтобы игра начиналась сразу. Пока загрузка не закончилась,
+// get() отдает заготовку (например, шард ответов, см. DictionaryRegistry.getAnswerShard), а без заготовки - ждет.
+// Сразу после загрузки словарь публикуется, и только потом в том же потоке строятся индексы (warmUp):
+// проверке слова достаточно хеш-таблицы словаря, а подсказка, запрошенная раньше индекса, подождет только его
+// (см. WordleDictionary.getIndex)
+public class BackgroundDictionary implements Supplier<WordleDictionary> {
+    private final String TAG = getClass().getSimpleName();
+    private final Logger logger;
+    private final WordleDictionary fallback;
+    private final CompletableFuture<WordleDictionary> loaded = new CompletableFuture<>();
+    private final Thread loader;
+
+    public BackgroundDictionary(Logger logger, String name, Callable<WordleDictionary> load,
+                                Consumer<WordleDictionary> warmUp, WordleDictionary fallback) {
+        this.logger = logger;
+        this.fallback = fallback;
+        this.loader = new Thread(() -> load(name, load, warmUp), TAG + '-' + name);
+        loader.setDaemon(true);
+    }
+
+    public BackgroundDictionary start() {
+        loader.start();
+        return this;
+    }
+
+    @Override
+    public WordleDictionary get() {
+        if (fallback != null && !isReady()) return fallback;
+        try {
+            return loaded.join();
+        } catch (CompletionException e) {
+            if (fallback != null) return fallback; // ошибка уже записана в лог, доигрываем на заготовке
+            throw new IllegalStateException("Словарь не загружен", e.getCause());
+        }
+    }
+
+    public boolean isReady() {
+        return loaded.isDone();
+    }
+
+    private void load(String name, Callable<WordleDictionary> load, Consumer<WordleDictionary> warmUp) {
+        long start = System.nanoTime();
+        WordleDictionary dictionary;
+        try {
+            dictionary = load.call();
+        } catch (Exception e) {
+            logger.log(TAG, "Ошибка фоновой загрузки словаря " + name);
+            e.printStackTrace(logger);
+            loaded.completeExceptionally(e);
+            return;
+        }
+        loaded.complete(dictionary);
+        logger.log(TAG, "Словарь " + name + " загружен за " + (System.nanoTime() - start) / 1_000_000 + " мс, слов: " + dictionary.size());
+        try {
+            warmUp.accept(dictionary);
+            logger.log(TAG, "Индексы словаря " + name + " построены за " + (System.nanoTime() - start) / 1_000_000 + " мс");
+        } catch (RuntimeException e) {
+            logger.log(TAG, "Ошибка построения индексов словаря " + name + ", они построятся при первом запросе");
+            e.printStackTrace(logger);
+        }
+    }
+}
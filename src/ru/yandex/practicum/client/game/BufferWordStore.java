@@ -0,0 +1,42 @@
+package ru.yandex.practicum.client.game;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+// Неизменяемое хранилище: коды и хеш-таблица читаются из буферов - отображенного в память файла словаря
+// или массивов, обернутых при заморозке словаря (см. WordleDictionaryBuilder.build)
+class BufferWordStore implements WordStore {
+    private final LongBuffer codes;
+    private final IntBuffer slots;
+    private final int mask;
+
+    BufferWordStore(LongBuffer codes, IntBuffer slots) {
+        this.codes = codes;
+        this.slots = slots;
+        this.mask = slots.capacity() - 1;
+    }
+
+    @Override
+    public int size() {
+        return codes.capacity();
+    }
+
+    @Override
+    public long codeAt(int index) {
+        return codes.get(index);
+    }
+
+    @Override
+    public int indexOf(long code) {
+        for (int slot = WordStore.slot(code, mask); ; slot = (slot + 1) & mask) {
+            int ref = slots.get(slot);
+            if (ref == 0) return -1;
+            if (codes.get(ref - 1) == code) return ref - 1;
+        }
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return (long) codes.capacity() * Long.BYTES + (long) slots.capacity() * Integer.BYTES;
+    }
+}
@@ -0,0 +1,109 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.exception.WordleGameEmptyWordsCollectionException;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Оставшиеся кандидаты игры - битовое множество индексов слов общего неизменяемого словаря:
+// n/8 байт на игру, а сброс к полному словарю - заполнение массива.
+public class CandidateSet {
+    private static final int ADDRESS_BITS = 6;
+
+    private final long[] bits;
+    private final int capacity;
+    private int size;
+
+    public CandidateSet(int capacity) {
+        this.capacity = capacity;
+        this.bits = new long[(capacity + Long.SIZE - 1) >>> ADDRESS_BITS];
+        reset();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void reset() {
+        Arrays.fill(bits, -1L);
+        if (capacity % Long.SIZE != 0) {
+            bits[bits.length - 1] = (1L << capacity) - 1;
+        }
+        size = capacity;
+    }
+
+    public boolean contains(int index) {
+        Objects.checkIndex(index, capacity);
+        return (bits[index >>> ADDRESS_BITS] & (1L << index)) != 0;
+    }
+
+    public boolean remove(int index) {
+        if (!contains(index)) return false;
+        bits[index >>> ADDRESS_BITS] &= ~(1L << index);
+        size--;
+        return true;
+    }
+
+    // Оставляет только кандидатов, отмеченных в words (битовое множество в той же нумерации, см. LetterIndex)
+    public void retainAll(long[] words) {
+        int count = 0;
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= words[i];
+            count += Long.bitCount(bits[i]);
+        }
+        size = count;
+    }
+
+    public void removeAll(long[] words) {
+        int count = 0;
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= ~words[i];
+            count += Long.bitCount(bits[i]);
+        }
+        size = count;
+    }
+
+    // Следующий кандидат, начиная с индекса from, или -1
+    public int nextIndex(int from) {
+        int word = from >>> ADDRESS_BITS;
+        if (word >= bits.length) return -1;
+        long current = bits[word] & (-1L << from);
+        while (current == 0) {
+            if (++word == bits.length) return -1;
+            current = bits[word];
+        }
+        return (word << ADDRESS_BITS) + Long.numberOfTrailingZeros(current);
+    }
+
+    // Случайный выбор - O(n/64) по select, а не O(1), как у перестановки индексов: структура рангов стоила бы
+    // памяти на каждую игру и пересчета при каждом отсечении кандидатов, а выбор нужен лишь раз на подсказку
+    // (для 4143 слов - проход по 65 словам массива)
+    public int randomIndex() throws WordleGameEmptyWordsCollectionException {
+        if (isEmpty()) throw new WordleGameEmptyWordsCollectionException();
+        return select(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    // Индекс кандидата с заданным порядковым номером: пропускаем целые слова по количеству бит в них
+    private int select(int rank) {
+        for (int word = 0; ; word++) {
+            long current = bits[word];
+            int count = Long.bitCount(current);
+            if (rank < count) {
+                for (int i = 0; i < rank; i++) {
+                    current &= current - 1;
+                }
+                return (word << ADDRESS_BITS) + Long.numberOfTrailingZeros(current);
+            }
+            rank -= count;
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package ru.yandex.practicum.client.game;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Сжатое множество неотрицательных int по схеме Roaring: старшие 16 бит значения выбирают контейнер, младшие
+// хранятся в нем одним из трех способов - отсортированным char[] для редких значений (до ARRAY_MAX_SIZE),
+// битовой картой на 2^16 бит для плотных и сериями (начало, длина) для идущих подряд. Множество из десятка
+// индексов занимает десятки байт, а не n/8, как CandidateSet.
+public class CompressedBitmap {
+    static final int ARRAY_MAX_SIZE = 4096;
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int BITMAP_WORDS = CHUNK_SIZE / Long.SIZE;
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+    private static final byte RUN = 2;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int containersCount;
+    private int cardinality;
+
+    public boolean add(int value) {
+        if (value < 0) throw new IllegalArgumentException("Значение должно быть неотрицательным: " + value);
+        char low = (char) (value & CHUNK_MASK);
+        int position = findContainer((char) (value >>> CHUNK_BITS));
+        if (position < 0) {
+            position = -position - 1;
+            insertContainer(position, (char) (value >>> CHUNK_BITS), new ArrayContainer());
+        } else if (containers[position].contains(low)) {
+            return false;
+        }
+        containers[position] = containers[position].add(low);
+        cardinality++;
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) return false;
+        int position = findContainer((char) (value >>> CHUNK_BITS));
+        return position >= 0 && containers[position].contains((char) (value & CHUNK_MASK));
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public void clear() {
+        keys = new char[0];
+        containers = new Container[0];
+        containersCount = 0;
+        cardinality = 0;
+    }
+
+    // Значение с номером rank (с нуля) среди отсутствующих в множестве значений диапазона [0, limit).
+    // Целые контейнеры пропускаются по количеству значений в них
+    public int selectAbsent(int rank, int limit) {
+        int position = 0;
+        for (int chunk = 0; (long) chunk << CHUNK_BITS < limit; chunk++) {
+            int chunkStart = chunk << CHUNK_BITS;
+            int chunkSize = Math.min(CHUNK_SIZE, limit - chunkStart);
+            Container container = null;
+            if (position < containersCount && keys[position] == chunk) {
+                container = containers[position++];
+            }
+            int absent = chunkSize - (container == null ? 0 : container.cardinality());
+            if (rank < absent) {
+                return chunkStart + (container == null ? rank : container.selectAbsent(rank));
+            }
+            rank -= absent;
+        }
+        throw new IndexOutOfBoundsException("Нет отсутствующего значения с таким номером: " + rank);
+    }
+
+    // Переводит контейнеры в самое компактное представление; добавление в серии снова их разворачивает
+    public void runOptimize() {
+        for (int i = 0; i < containersCount; i++) {
+            containers[i] = containers[i].optimized();
+        }
+    }
+
+    public long sizeInBytes() {
+        long size = (long) keys.length * Character.BYTES + (long) containers.length * Integer.BYTES;
+        for (int i = 0; i < containersCount; i++) {
+            size += containers[i].sizeInBytes();
+        }
+        return size;
+    }
+
+    // Каждый контейнер записывается в самом компактном представлении
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(containersCount);
+        for (int i = 0; i < containersCount; i++) {
+            Container container = containers[i].optimized();
+            out.writeChar(keys[i]);
+            out.writeByte(container.type());
+            container.write(out);
+        }
+    }
+
+    public static CompressedBitmap read(DataInput in) throws IOException {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        int count = in.readInt();
+        if (count < 0 || count > CHUNK_SIZE) throw new IOException("Некорректное количество контейнеров: " + count);
+        bitmap.keys = new char[count];
+        bitmap.containers = new Container[count];
+        for (int i = 0; i < count; i++) {
+            char key = in.readChar();
+            if (i > 0 && key <= bitmap.keys[i - 1]) throw new IOException("Ключи контейнеров не упорядочены");
+            Container container = switch (in.readByte()) {
+                case ARRAY -> ArrayContainer.read(in);
+                case BITMAP -> BitmapContainer.read(in);
+                case RUN -> RunContainer.read(in);
+                default -> throw new IOException("Неизвестный тип контейнера");
+            };
+            bitmap.keys[i] = key;
+            bitmap.containers[i] = container;
+            bitmap.cardinality += container.cardinality();
+        }
+        bitmap.containersCount = count;
+        return bitmap;
+    }
+
+    private int findContainer(char key) {
+        return Arrays.binarySearch(keys, 0, containersCount, key);
+    }
+
+    private void insertContainer(int position, char key, Container container) {
+        if (containersCount == keys.length) {
+            int capacity = Math.max(1, containersCount * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, position, keys, position + 1, containersCount - position);
+        System.arraycopy(containers, position, containers, position + 1, containersCount - position);
+        keys[position] = key;
+        containers[position] = container;
+        containersCount++;
+    }
+
+    private interface Container {
+        // Возвращает контейнер, в котором теперь лежит значение: переполненный массив становится битовой картой
+        Container add(char value);
+
+        boolean contains(char value);
+
+        int cardinality();
+
+        int selectAbsent(int rank);
+
+        Container optimized();
+
+        long sizeInBytes();
+
+        byte type();
+
+        void write(DataOutput out) throws IOException;
+    }
+
+    // Наименьшее из трех представлений для контейнера с заданными количеством значений и серий
+    private static byte smallestType(int cardinality, int runs) {
+        long arrayBytes = (long) cardinality * Character.BYTES;
+        long runBytes = (long) runs * 2 * Character.BYTES;
+        long bitmapBytes = (long) BITMAP_WORDS * Long.BYTES;
+        if (runBytes < arrayBytes && runBytes < bitmapBytes) return RUN;
+        return cardinality <= ARRAY_MAX_SIZE ? ARRAY : BITMAP;
+    }
+
+    private static class ArrayContainer implements Container {
+        private char[] values;
+        private int size;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public Container add(char value) {
+            if (size == ARRAY_MAX_SIZE) return toBitmap().add(value);
+            int position = -Arrays.binarySearch(values, 0, size, value) - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX_SIZE, size * 2));
+            }
+            System.arraycopy(values, position, values, position + 1, size - position);
+            values[position] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return size;
+        }
+
+        // Каждое значение не больше кандидата сдвигает ответ на одну позицию вправо
+        @Override
+        public int selectAbsent(int rank) {
+            int i = 0;
+            while (i < size && values[i] <= rank + i) {
+                i++;
+            }
+            return rank + i;
+        }
+
+        @Override
+        public Container optimized() {
+            int runs = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || values[i] != values[i - 1] + 1) runs++;
+            }
+            return switch (smallestType(size, runs)) {
+                case RUN -> RunContainer.of(this, runs);
+                case BITMAP -> toBitmap();
+                default -> this;
+            };
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return (long) values.length * Character.BYTES + Integer.BYTES;
+        }
+
+        @Override
+        public byte type() {
+            return ARRAY;
+        }
+
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeShort(size);
+            for (int i = 0; i < size; i++) {
+                out.writeChar(values[i]);
+            }
+        }
+
+        static ArrayContainer read(DataInput in) throws IOException {
+            int size = in.readUnsignedShort();
+            if (size == 0 || size > ARRAY_MAX_SIZE) throw new IOException("Некорректный размер контейнера: " + size);
+            char[] values = new char[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = in.readChar();
+                if (i > 0 && values[i] <= values[i - 1]) throw new IOException("Значения контейнера не упорядочены");
+            }
+            return new ArrayContainer(values, size);
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static class BitmapContainer implements Container {
+        private final long[] words = new long[BITMAP_WORDS];
+        private int cardinality;
+
+        @Override
+        public Container add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int selectAbsent(int rank) {
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long absent = ~words[word];
+                int count = Long.bitCount(absent);
+                if (rank < count) {
+                    for (int i = 0; i < rank; i++) {
+                        absent &= absent - 1;
+                    }
+                    return (word << 6) + Long.numberOfTrailingZeros(absent);
+                }
+                rank -= count;
+            }
+            throw new IndexOutOfBoundsException(rank);
+        }
+
+        // Серия начинается с установленного бита, перед которым бит сброшен
+        @Override
+        public Container optimized() {
+            int runs = 0;
+            long previousTop = 0;
+            for (long word : words) {
+                runs += Long.bitCount(word & ~(word << 1 | previousTop));
+                previousTop = word >>> 63;
+            }
+            return switch (smallestType(cardinality, runs)) {
+                case RUN -> RunContainer.of(this, runs);
+                case ARRAY -> toArray();
+                default -> this;
+            };
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return (long) BITMAP_WORDS * Long.BYTES + Integer.BYTES;
+        }
+
+        @Override
+        public byte type() {
+            return BITMAP;
+        }
+
+        @Override
+        public void write(DataOutput out) throws IOException {
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
+
+        static BitmapContainer read(DataInput in) throws IOException {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                bitmap.words[i] = in.readLong();
+                bitmap.cardinality += Long.bitCount(bitmap.words[i]);
+            }
+            return bitmap;
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[Math.max(cardinality, 1)];
+            int size = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                    values[size++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                }
+            }
+            return new ArrayContainer(values, size);
+        }
+    }
+
+    // Серии хранятся началом и длиной минус один, чтобы серия на весь контейнер поместилась в char
+    private static class RunContainer implements Container {
+        private final char[] starts;
+        private final char[] lengths;
+        private final int cardinality;
+
+        private RunContainer(char[] starts, char[] lengths) {
+            this.starts = starts;
+            this.lengths = lengths;
+            int count = 0;
+            for (char length : lengths) {
+                count += length + 1;
+            }
+            this.cardinality = count;
+        }
+
+        static RunContainer of(Container source, int runs) {
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+            int run = -1;
+            int previous = -2;
+            for (int value = 0; value < CHUNK_SIZE; value++) {
+                if (!source.contains((char) value)) continue;
+                if (value != previous + 1) {
+                    starts[++run] = (char) value;
+                } else {
+                    lengths[run]++;
+                }
+                previous = value;
+            }
+            return new RunContainer(starts, lengths);
+        }
+
+        // Добавление разворачивает серии обратно в массив или битовую карту
+        @Override
+        public Container add(char value) {
+            Container expanded = cardinality <= ARRAY_MAX_SIZE ? new ArrayContainer() : new BitmapContainer();
+            for (int run = 0; run < starts.length; run++) {
+                for (int i = 0; i <= lengths[run]; i++) {
+                    expanded = expanded.add((char) (starts[run] + i));
+                }
+            }
+            return expanded.add(value);
+        }
+
+        @Override
+        public boolean contains(char value) {
+            int run = Arrays.binarySearch(starts, value);
+            if (run >= 0) return true;
+            run = -run - 2; // последняя серия, начинающаяся раньше value
+            return run >= 0 && value - starts[run] <= lengths[run];
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int selectAbsent(int rank) {
+            int result = rank;
+            for (int run = 0; run < starts.length && starts[run] <= result; run++) {
+                result += lengths[run] + 1;
+            }
+            return result;
+        }
+
+        @Override
+        public Container optimized() {
+            return this;
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return (long) (starts.length + lengths.length) * Character.BYTES + Integer.BYTES;
+        }
+
+        @Override
+        public byte type() {
+            return RUN;
+        }
+
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeShort(starts.length);
+            for (int run = 0; run < starts.length; run++) {
+                out.writeChar(starts[run]);
+                out.writeChar(lengths[run]);
+            }
+        }
+
+        static RunContainer read(DataInput in) throws IOException {
+            int runs = in.readUnsignedShort();
+            if (runs == 0) throw new IOException("Пустой контейнер серий");
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+            for (int run = 0; run < runs; run++) {
+                starts[run] = in.readChar();
+                lengths[run] = in.readChar();
+                if (starts[run] + lengths[run] >= CHUNK_SIZE
+                        || run > 0 && starts[run] <= starts[run - 1] + lengths[run - 1] + 1) {
+                    throw new IOException("Некорректная серия контейнера");
+                }
+            }
+            return new RunContainer(starts, lengths);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.WordCodec;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+// Минимизированный DAWG над словами одной длины: одинаковые окончания слов хранятся один раз.
+// Узлы и ребра лежат в примитивных массивах: ребра узла n - с edgeStart[n] по edgeStart[n + 1], отсортированы
+// по букве; ребро хранит номер буквы и целевой узел, а edgeRanks - сколько слов начинается в предыдущих ребрах
+// узла. Индекс слова - его номер в лексикографическом порядке, поэтому codeAt и indexOf - спуск на wordLength
+// уровней с двоичным поиском среди ребер.
+class DawgWordStore implements WordStore {
+    private static final int SINK = 0; // все слова заканчиваются в одном узле на глубине wordLength
+    private static final int LETTER_MASK = (1 << WordCodec.LETTER_BITS) - 1;
+
+    private final int wordLength;
+    private final int size;
+    private final int root;
+    private final int[] edgeStart;
+    private final int[] edges; // номер целевого узла << LETTER_BITS | номер буквы
+    private final int[] edgeRanks;
+
+    private DawgWordStore(int wordLength, int size, int root, int[] edgeStart, int[] edges, int[] edgeRanks) {
+        this.wordLength = wordLength;
+        this.size = size;
+        this.root = root;
+        this.edgeStart = edgeStart;
+        this.edges = edges;
+        this.edgeRanks = edgeRanks;
+    }
+
+    static DawgWordStore copyOf(WordStore source, int wordLength) {
+        long[] codes = new long[source.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = source.codeAt(i);
+        }
+        Arrays.sort(codes);
+        return new Builder(codes, wordLength).build();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long codeAt(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        long code = 0;
+        int node = root;
+        for (int depth = 0; depth < wordLength; depth++) {
+            // последнее ребро, с которого начинается не больше index слов
+            int low = edgeStart[node];
+            int high = edgeStart[node + 1] - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (edgeRanks[middle] <= index) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            index -= edgeRanks[low];
+            code = WordCodec.append(code, edges[low] & LETTER_MASK);
+            node = edges[low] >>> WordCodec.LETTER_BITS;
+        }
+        return code;
+    }
+
+    @Override
+    public int indexOf(long code) {
+        if (wordLength * WordCodec.LETTER_BITS < Long.SIZE && code >>> (wordLength * WordCodec.LETTER_BITS) != 0) return -1;
+        int index = 0;
+        int node = root;
+        for (int depth = 0; depth < wordLength; depth++) {
+            int edge = findEdge(node, WordCodec.letterAt(code, depth, wordLength));
+            if (edge < 0) return -1;
+            index += edgeRanks[edge];
+            node = edges[edge] >>> WordCodec.LETTER_BITS;
+        }
+        return index;
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return (long) (edgeStart.length + edges.length + edgeRanks.length) * Integer.BYTES;
+    }
+
+    // Обход только тех ветвей, буквы которых совпадают с заданными позициями шаблона
+    @Override
+    public void forEachMatching(int[] pattern, LongConsumer consumer) {
+        if (size > 0) {
+            forEachMatching(root, 0, 0, pattern, consumer);
+        }
+    }
+
+    private void forEachMatching(int node, int depth, long prefix, int[] pattern, LongConsumer consumer) {
+        if (depth == wordLength) {
+            consumer.accept(prefix);
+            return;
+        }
+        int letter = pattern[depth];
+        if (letter != WordleAlphabet.NO_LETTER) {
+            int edge = findEdge(node, letter);
+            if (edge >= 0) {
+                forEachMatching(edges[edge] >>> WordCodec.LETTER_BITS, depth + 1, WordCodec.append(prefix, letter), pattern, consumer);
+            }
+            return;
+        }
+        for (int edge = edgeStart[node]; edge < edgeStart[node + 1]; edge++) {
+            forEachMatching(edges[edge] >>> WordCodec.LETTER_BITS, depth + 1,
+                    WordCodec.append(prefix, edges[edge] & LETTER_MASK), pattern, consumer);
+        }
+    }
+
+    private int findEdge(int node, int letter) {
+        int low = edgeStart[node];
+        int high = edgeStart[node + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleLetter = edges[middle] & LETTER_MASK;
+            if (middleLetter < letter) {
+                low = middle + 1;
+            } else if (middleLetter > letter) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    // Строит граф снизу вверх по отсортированным кодам: узел с уже встречавшимся набором ребер
+    // (буква, целевой узел) не создается заново, а переиспользуется
+    private static class Builder {
+        private final long[] codes;
+        private final int wordLength;
+        private final Map<Signature, Integer> nodes = new HashMap<>();
+        private int[] edgeStart = new int[16];
+        private int[] edges = new int[16];
+        private int[] edgeRanks = new int[16];
+        private int[] wordCounts = new int[16];
+        private int nodesCount;
+        private int edgesCount;
+
+        Builder(long[] codes, int wordLength) {
+            this.codes = codes;
+            this.wordLength = wordLength;
+        }
+
+        DawgWordStore build() {
+            addNode(new int[0], new int[0], 1); // SINK
+            int root = codes.length == 0 ? SINK : buildNode(0, codes.length, 0);
+            return new DawgWordStore(wordLength, codes.length, root, Arrays.copyOf(edgeStart, nodesCount + 1),
+                    Arrays.copyOf(edges, edgesCount), Arrays.copyOf(edgeRanks, edgesCount));
+        }
+
+        // Слова codes[from..to) совпадают в первых depth буквах
+        private int buildNode(int from, int to, int depth) {
+            if (depth == wordLength) return SINK;
+            int[] nodeEdges = new int[WordleAlphabet.MAX_LETTERS];
+            int[] nodeRanks = new int[WordleAlphabet.MAX_LETTERS];
+            int count = 0;
+            int words = 0;
+            for (int start = from; start < to; ) {
+                int letter = WordCodec.letterAt(codes[start], depth, wordLength);
+                int end = start + 1;
+                while (end < to && WordCodec.letterAt(codes[end], depth, wordLength) == letter) {
+                    end++;
+                }
+                int child = buildNode(start, end, depth + 1);
+                nodeEdges[count] = child << WordCodec.LETTER_BITS | letter;
+                nodeRanks[count++] = words;
+                words += wordCounts[child];
+                start = end;
+            }
+            return addNode(Arrays.copyOf(nodeEdges, count), Arrays.copyOf(nodeRanks, count), words);
+        }
+
+        private int addNode(int[] nodeEdges, int[] nodeRanks, int words) {
+            Signature signature = new Signature(nodeEdges);
+            Integer existing = nodes.get(signature);
+            if (existing != null) return existing;
+            int node = nodesCount++;
+            if (nodesCount + 1 > edgeStart.length) {
+                edgeStart = Arrays.copyOf(edgeStart, edgeStart.length * 2);
+                wordCounts = Arrays.copyOf(wordCounts, wordCounts.length * 2);
+            }
+            while (edgesCount + nodeEdges.length > edges.length) {
+                edges = Arrays.copyOf(edges, edges.length * 2);
+                edgeRanks = Arrays.copyOf(edgeRanks, edgeRanks.length * 2);
+            }
+            System.arraycopy(nodeEdges, 0, edges, edgesCount, nodeEdges.length);
+            System.arraycopy(nodeRanks, 0, edgeRanks, edgesCount, nodeRanks.length);
+            edgesCount += nodeEdges.length;
+            edgeStart[node + 1] = edgesCount;
+            wordCounts[node] = words;
+            nodes.put(signature, node);
+            return node;
+        }
+    }
+
+    private record Signature(int[] edges) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Signature other && Arrays.equals(edges, other.edges);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(edges);
+        }
+    }
+}
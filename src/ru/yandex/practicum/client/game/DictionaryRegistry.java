@@ -0,0 +1,324 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+// Словари по (язык, длина слова): загружаются при первом запросе и разделяются всеми играми.
+// Сверх бюджета памяти из реестра вытесняются давно не запрошенные словари. Вытесненный словарь остается
+// доступен по слабой ссылке, пока им пользуется хотя бы одна игра, поэтому повторно он не загружается.
+// У языка может быть отдельный короткий список загадываемых слов, тогда общий словарь служит списком допустимых догадок.
+// Матрицы ответов (см. FeedbackMatrix) хранятся и вытесняются вместе со словарями, в том же бюджете.
+public class DictionaryRegistry {
+    public static final String RUSSIAN = "ru";
+    private static final String TEXT_DICTIONARY_EXTENSION = ".txt";
+    private static final String SHARD_SUFFIX = "_shard";
+    private static final String DIFFICULTY_EXTENSION = ".difficulty";
+
+    private final String TAG = getClass().getSimpleName();
+    private final Logger logger;
+    private final WordleDictionaryLoader loader;
+    private final long memoryBudgetBytes;
+    private final Map<String, Language> languages = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Key, Entry<?>> entries = new LinkedHashMap<>(16, 0.75f, true); // порядок доступа - LRU
+    private long usedBytes;
+
+    public DictionaryRegistry(Logger logger, long memoryBudgetBytes) {
+        if (memoryBudgetBytes < 0) throw new IllegalArgumentException("Бюджет памяти не может быть отрицательным");
+        this.logger = logger;
+        this.loader = new WordleDictionaryLoader(logger);
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+
+    // Рядом с текстовым словарем words.txt ищется скомпилированный words_<длина>.wdc, он отображается в память
+    public void registerLanguage(String language, String wordsFile, WordleAlphabet alphabet) {
+        registerLanguage(language, wordsFile, null, alphabet);
+    }
+
+    public void registerLanguage(String language, String wordsFile, String answersFile, WordleAlphabet alphabet) {
+        languages.put(language, new Language(wordsFile, answersFile, alphabet, false));
+        logger.log(TAG, "Зарегистрирован язык " + language + ", словарь: " + wordsFile
+                + (answersFile == null ? "" : ", загадываемые слова: " + answersFile));
+    }
+
+    // Словари языка, загруженные после вызова, хранятся сжатыми (см. WordleDictionary.toCompressed): большие
+    // словари занимают меньше бюджета ценой более медленного поиска слова. Перезагрузчики сохраняют представление
+    public void setCompressed(String language, boolean compressed) {
+        Language source = getLanguage(language);
+        languages.put(language, new Language(source.wordsFile, source.answersFile, source.alphabet, compressed));
+        logger.log(TAG, "Словари языка " + language + (compressed ? " хранятся сжатыми" : " хранятся без сжатия"));
+    }
+
+    public boolean hasAnswers(String language) {
+        return getLanguage(language).answersFile != null;
+    }
+
+    // Словарь допустимых догадок
+    public WordleDictionary get(String language, int wordLength) throws IOException {
+        Language source = getLanguage(language);
+        return get(new Key(language, wordLength, Kind.WORDS), source.wordsFile, source);
+    }
+
+    // Словарь загадываемых слов; если отдельного списка нет - тот же словарь, что и get
+    public WordleDictionary getAnswers(String language, int wordLength) throws IOException {
+        Language source = getLanguage(language);
+        if (source.answersFile == null) return get(language, wordLength);
+        return get(new Key(language, wordLength, Kind.ANSWERS), source.answersFile, source);
+    }
+
+    private WordleDictionary get(Key key, String wordsFile, Language source) throws IOException {
+        return get(key, WordleDictionary::sizeInBytes, dictionary -> true, () -> {
+            WordleDictionary dictionary = load(wordsFile, key.wordLength, source.alphabet);
+            return source.compressed ? dictionary.toCompressed() : dictionary;
+        });
+    }
+
+    // isFresh - подходит ли оставшееся в реестре значение, иначе оно загружается заново
+    private <T> T get(Key key, ToLongFunction<T> sizer, Predicate<T> isFresh, Loader<T> loader) throws IOException {
+        Entry<T> entry;
+        synchronized (this) {
+            entry = entry(key, sizer);
+            T value = acquire(key, entry, isFresh);
+            if (value != null) return value;
+        }
+        // значения разных ключей загружаются параллельно, одного ключа - один раз
+        synchronized (entry) {
+            synchronized (this) {
+                T value = acquire(key, entry, isFresh);
+                if (value != null) return value;
+            }
+            T value = loader.load();
+            synchronized (this) {
+                entry.loaded = value;
+                account(key, entry);
+            }
+            return value;
+        }
+    }
+
+    @SuppressWarnings("unchecked") // тип значения определяется видом ключа
+    private <T> Entry<T> entry(Key key, ToLongFunction<T> sizer) {
+        return (Entry<T>) entries.computeIfAbsent(key, k -> new Entry<>(sizer));
+    }
+
+    // Небольшая заранее скомпилированная выборка загадываемых слов (см. WordleDictionaryCompiler) для быстрого
+    // старта: отображается в память за миллисекунды, пока полный словарь грузится в фоне. null - шарда нет
+    public WordleDictionary getAnswerShard(String language, int wordLength) throws IOException {
+        Language source = getLanguage(language);
+        String shardFile = shardFileName(source.answersFile != null ? source.answersFile : source.wordsFile, wordLength);
+        if (!new File(shardFile).exists()) return null;
+        WordleDictionary shard = loader.mapCompiledWords(shardFile, false);
+        if (shard.getWordLength() == wordLength && !shard.isEmpty()) return shard;
+        logger.log(TAG, "Шард " + shardFile + " не подходит для слов длины " + wordLength);
+        return null;
+    }
+
+    // Сложность загадываемых слов, посчитанная DifficultyAnalyzer. null - расчета не было
+    public DifficultyStats getDifficultyStats(String language, int wordLength) throws IOException {
+        Language source = getLanguage(language);
+        String statsFile = difficultyFileName(source.answersFile != null ? source.answersFile : source.wordsFile, wordLength);
+        if (!new File(statsFile).exists()) return null;
+        DifficultyStats stats = DifficultyStats.read(statsFile);
+        logger.log(TAG, "Загружена сложность " + stats.size() + " слов из " + statsFile);
+        return stats;
+    }
+
+    // Матрица ответов (допустимые слова x загадываемые) считается при первом запросе и кешируется в файле рядом
+    // со словарем, следующие запуски только отображают его. Страницы матрицы занимают память процесса наравне
+    // со словарями, поэтому она входит в бюджет и вытесняется так же. После смены содержимого словарей матрица
+    // считается заново. null - матрица одна больше всего бюджета, ответы считаются без нее
+    public FeedbackMatrix getFeedbackMatrix(String language, int wordLength) throws IOException {
+        Language source = getLanguage(language);
+        WordleDictionary guesses = get(language, wordLength);
+        WordleDictionary answers = getAnswers(language, wordLength);
+        Key key = new Key(language, wordLength, Kind.FEEDBACK_MATRIX);
+        if (FeedbackMatrix.sizeInBytes(guesses, answers) > memoryBudgetBytes) {
+            logger.log(TAG, "Матрица " + key + " не помещается в бюджет памяти " + memoryBudgetBytes);
+            return null;
+        }
+        File parent = new File(source.wordsFile).getAbsoluteFile().getParentFile();
+        return get(key, FeedbackMatrix::sizeInBytes, matrix -> matrix.isFor(guesses, answers),
+                () -> FeedbackMatrix.open(logger, parent.getPath(), guesses, answers));
+    }
+
+    // Перезагрузчик следит за тем же файлом, из которого словарь загружен в реестр, и стартует с его текущей версией
+    public DictionaryReloader watch(String language, int wordLength) throws IOException {
+        Language source = getLanguage(language);
+        return watch(source.wordsFile, wordLength, source.alphabet, get(language, wordLength));
+    }
+
+    public DictionaryReloader watchAnswers(String language, int wordLength) throws IOException {
+        Language source = getLanguage(language);
+        if (source.answersFile == null) return watch(language, wordLength);
+        return watch(source.answersFile, wordLength, source.alphabet, getAnswers(language, wordLength));
+    }
+
+    private DictionaryReloader watch(String wordsFile, int wordLength, WordleAlphabet alphabet, WordleDictionary initial)
+            throws IOException {
+        String compiledFile = compiledFileName(wordsFile, wordLength);
+        String watchedFile = new File(compiledFile).exists() ? compiledFile : wordsFile;
+        return new DictionaryReloader(logger, watchedFile, wordLength, alphabet, initial);
+    }
+
+    public synchronized boolean isLoaded(String language, int wordLength) {
+        Entry<?> entry = entries.get(new Key(language, wordLength, Kind.WORDS));
+        return entry != null && entry.counted;
+    }
+
+    public synchronized long getUsedBytes() {
+        remeasure();
+        return usedBytes;
+    }
+
+    public long getMemoryBudgetBytes() {
+        return memoryBudgetBytes;
+    }
+
+    private Language getLanguage(String language) {
+        Language source = languages.get(language);
+        if (source == null) throw new IllegalArgumentException("Язык не зарегистрирован: " + language);
+        return source;
+    }
+
+    private WordleDictionary load(String wordsFile, int wordLength, WordleAlphabet alphabet) throws IOException {
+        String compiledFile = compiledFileName(wordsFile, wordLength);
+        if (new File(compiledFile).exists()) {
+            WordleDictionary dictionary = loader.mapCompiledWords(compiledFile, false);
+            if (dictionary.getWordLength() == wordLength) return dictionary;
+            logger.log(TAG, "Длина слов в " + compiledFile + " не совпадает с запрошенной, читаем текстовый словарь");
+        }
+        return loader.loadWords(wordsFile, wordLength, alphabet);
+    }
+
+    private <T> T acquire(Key key, Entry<T> entry, Predicate<T> isFresh) {
+        T value = entry.revive();
+        if (value == null) return null;
+        if (!isFresh.test(value)) {
+            usedBytes -= entry.countedBytes;
+            entry.drop();
+            return null;
+        }
+        account(key, entry);
+        return value;
+    }
+
+    private void account(Key key, Entry<?> entry) {
+        boolean isNew = !entry.counted;
+        entry.counted = true;
+        remeasure();
+        if (isNew) {
+            logger.log(TAG, "В реестр загружен " + key + ", занято памяти: " + usedBytes + " из " + memoryBudgetBytes);
+        }
+        Iterator<Map.Entry<Key, Entry<?>>> iterator = entries.entrySet().iterator();
+        while (usedBytes > memoryBudgetBytes && iterator.hasNext()) {
+            Map.Entry<Key, Entry<?>> eldest = iterator.next();
+            Entry<?> candidate = eldest.getValue();
+            if (candidate == entry || !candidate.counted) continue; // только что запрошенное значение не вытесняем
+            usedBytes -= candidate.countedBytes;
+            candidate.evict();
+            logger.log(TAG, "Из реестра вытеснен " + eldest.getKey() + ", занято памяти: " + usedBytes);
+        }
+    }
+
+    // Индексы словаря строятся лениво, уже после загрузки (см. WordleDictionary.sizeInBytes), поэтому объем
+    // словарей пересчитывается при каждом обращении к реестру
+    private void remeasure() {
+        for (Entry<?> entry : entries.values()) {
+            if (!entry.counted) continue;
+            long bytes = entry.measure();
+            usedBytes += bytes - entry.countedBytes;
+            entry.countedBytes = bytes;
+        }
+    }
+
+    static final String COMPILED_DICTIONARY_EXTENSION = ".wdc";
+
+    static String compiledFileName(String wordsFile, int wordLength) {
+        String base = wordsFile.endsWith(TEXT_DICTIONARY_EXTENSION)
+                ? wordsFile.substring(0, wordsFile.length() - TEXT_DICTIONARY_EXTENSION.length())
+                : wordsFile;
+        return base + '_' + wordLength + COMPILED_DICTIONARY_EXTENSION;
+    }
+
+    static String shardFileName(String wordsFile, int wordLength) {
+        String compiledFile = compiledFileName(wordsFile, wordLength);
+        return compiledFile.substring(0, compiledFile.length() - COMPILED_DICTIONARY_EXTENSION.length())
+                + SHARD_SUFFIX + COMPILED_DICTIONARY_EXTENSION;
+    }
+
+    static String difficultyFileName(String wordsFile, int wordLength) {
+        String compiledFile = compiledFileName(wordsFile, wordLength);
+        return compiledFile.substring(0, compiledFile.length() - COMPILED_DICTIONARY_EXTENSION.length()) + DIFFICULTY_EXTENSION;
+    }
+
+    private record Language(String wordsFile, String answersFile, WordleAlphabet alphabet, boolean compressed) { }
+
+    private enum Kind {
+        WORDS(""), ANSWERS("/ответы"), FEEDBACK_MATRIX("/матрица ответов");
+
+        private final String suffix;
+
+        Kind(String suffix) {
+            this.suffix = suffix;
+        }
+    }
+
+    private record Key(String language, int wordLength, Kind kind) {
+        @Override
+        public String toString() {
+            return language + '/' + wordLength + kind.suffix;
+        }
+    }
+
+    private interface Loader<T> {
+        T load() throws IOException;
+    }
+
+    private static class Entry<T> {
+        private final ToLongFunction<T> sizer;
+        private T loaded;
+        private WeakReference<T> evicted;
+        private boolean counted;
+        private long countedBytes;
+
+        Entry(ToLongFunction<T> sizer) {
+            this.sizer = sizer;
+        }
+
+        long measure() {
+            return sizer.applyAsLong(loaded);
+        }
+
+        // Вытесненное, но еще используемое играми значение снова становится сильной ссылкой
+        T revive() {
+            if (loaded == null && evicted != null) {
+                loaded = evicted.get();
+                evicted = null;
+            }
+            return loaded;
+        }
+
+        void evict() {
+            evicted = new WeakReference<>(loaded);
+            loaded = null;
+            counted = false;
+            countedBytes = 0;
+        }
+
+        // Устаревшее значение забывается совсем, даже если им еще пользуются
+        void drop() {
+            loaded = null;
+            evicted = null;
+            counted = false;
+            countedBytes = 0;
+        }
+    }
+}
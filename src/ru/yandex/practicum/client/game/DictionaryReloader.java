@@ -0,0 +1,128 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+// Следит за файлом словаря и перечитывает его в фоновом потоке. Новая версия публикуется одной заменой ссылки:
+// проверки слов и подсказки не ждут перезагрузки, а начатые игры доигрывают на своей версии (см. WordleGameState)
+public class DictionaryReloader implements Supplier<WordleDictionary>, Closeable {
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final String TAG = getClass().getSimpleName();
+    private final Logger logger;
+    private final WordleDictionaryLoader loader;
+    private final Path file;
+    private final int wordLength;
+    private final WordleAlphabet alphabet;
+    private final AtomicReference<WordleDictionary> current;
+    private final boolean initialCompressed;
+    private final AtomicInteger version = new AtomicInteger(1);
+    private final WatchService watchService;
+    private final Thread watcher;
+
+    public DictionaryReloader(Logger logger, String fileName, int wordLength, WordleAlphabet alphabet,
+                              WordleDictionary initial) throws IOException {
+        this.logger = logger;
+        this.loader = new WordleDictionaryLoader(logger);
+        this.file = Paths.get("", fileName).toAbsolutePath();
+        this.wordLength = wordLength;
+        this.alphabet = alphabet;
+        this.current = new AtomicReference<>(initial);
+        this.initialCompressed = initial.isCompressed();
+        this.watchService = file.getFileSystem().newWatchService();
+        file.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        this.watcher = new Thread(this::watch, TAG);
+        watcher.setDaemon(true);
+    }
+
+    public void start() {
+        watcher.start();
+        logger.log(TAG, "Отслеживаем изменения словаря: " + file);
+    }
+
+    @Override
+    public WordleDictionary get() {
+        return current.get();
+    }
+
+    public int getVersion() {
+        return version.get();
+    }
+
+    // При ошибке чтения или пустом словаре остается прежняя версия
+    public synchronized boolean reload() {
+        logger.log(TAG, "Перезагрузка словаря: " + file);
+        try {
+            WordleDictionary fresh = load();
+            if (fresh.isEmpty()) {
+                logger.log(TAG, "Новый словарь пуст, оставляем версию " + version.get());
+                return false;
+            }
+            current.set(fresh);
+            logger.log(TAG, "Опубликована версия словаря " + version.incrementAndGet() + ", слов: " + fresh.size());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.log(TAG, "Ошибка перезагрузки словаря, оставляем версию " + version.get());
+            e.printStackTrace(logger);
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watcher.interrupt();
+        watchService.close();
+    }
+
+    // Новая версия хранится так же, как начальная: сжатой или нет (см. DictionaryRegistry.setCompressed)
+    private WordleDictionary load() throws IOException {
+        WordleDictionary dictionary = loadFile();
+        return initialCompressed ? dictionary.toCompressed() : dictionary;
+    }
+
+    private WordleDictionary loadFile() throws IOException {
+        String fileName = file.toString();
+        if (!fileName.endsWith(DictionaryRegistry.COMPILED_DICTIONARY_EXTENSION)) {
+            return loader.loadWords(fileName, wordLength, alphabet);
+        }
+        WordleDictionary dictionary = loader.mapCompiledWords(fileName, true);
+        if (dictionary.getWordLength() != wordLength) {
+            throw new IOException("Длина слов скомпилированного словаря " + dictionary.getWordLength() + " вместо " + wordLength);
+        }
+        return dictionary;
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!isDictionaryChanged(watchService.take())) continue;
+                // файл обычно записывается несколькими операциями, ждем, пока события утихнут
+                WatchKey key;
+                while ((key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    isDictionaryChanged(key);
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.log(TAG, "Отслеживание словаря остановлено");
+        }
+    }
+
+    private boolean isDictionaryChanged(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            changed |= event.kind() == OVERFLOW || file.getFileName().equals(event.context());
+        }
+        key.reset();
+        return changed;
+    }
+}
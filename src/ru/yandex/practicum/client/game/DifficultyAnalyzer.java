@@ -0,0 +1,173 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.exception.WordleGameException;
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Офлайн-проход по словарю ответов: подсказки игры (WordleGame.guessWord) SIMULATIONS_PER_WORD раз разгадывают
+// каждое слово с нуля, а в DifficultyStats записываются среднее число попыток и доля проигрышей. Слова делятся
+// между ядрами через fork/join, у каждой порции своя игра над общим неизменяемым словарем.
+// Повторный проход пересчитывает только затронутые изменением словаря слова: новые и соседей (на расстоянии
+// Хэмминга CHANGE_RADIUS) добавленных и удаленных слов - подсказки путают слово именно с такими соседями.
+public class DifficultyAnalyzer {
+    static final int SIMULATIONS_PER_WORD = 16;
+    private static final int CHANGE_RADIUS = 1;
+    private static final int WORDS_PER_TASK = 64;
+
+    private final String TAG = getClass().getSimpleName();
+    private final Logger logger;
+    private final Logger gameLogger = new Logger(Writer.nullWriter()); // ходы миллионов симуляций не пишутся в лог
+
+    public DifficultyAnalyzer(Logger logger) {
+        this.logger = logger;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.out.println("Использование: <текстовый словарь ответов> <длина слова> <регулярка допустимых символов>");
+            return;
+        }
+        try (Logger logger = new Logger(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            int wordLength = Integer.parseInt(args[1]);
+            WordleDictionary answers = new WordleDictionaryLoader(logger).loadWords(args[0], wordLength, args[2]);
+            // файл сложности ищется рядом со словарем ответов (см. DictionaryRegistry.getDifficultyStats)
+            String statsFile = DictionaryRegistry.difficultyFileName(args[0], wordLength);
+            DifficultyStats previous = null;
+            if (new File(statsFile).exists()) {
+                previous = DifficultyStats.read(statsFile);
+            }
+            new DifficultyAnalyzer(logger).analyze(answers, previous).write(statsFile);
+        }
+    }
+
+    // previous - статистика прошлой версии словаря или null, тогда считаются все слова
+    public DifficultyStats analyze(WordleDictionary dictionary, DifficultyStats previous) {
+        if (previous != null && previous.getWordLength() != dictionary.getWordLength()) previous = null;
+        int size = dictionary.size();
+        boolean[] affected = findAffected(dictionary, previous);
+        int affectedCount = 0;
+        for (boolean isAffected : affected) {
+            if (isAffected) affectedCount++;
+        }
+        logger.log(TAG, "Расчет сложности слов: " + affectedCount + " из " + size);
+        long start = System.nanoTime();
+        float[] attempts = new float[size];
+        float[] failureRates = new float[size];
+        ForkJoinPool.commonPool().invoke(new SimulationTask(dictionary, affected, attempts, failureRates, 0, size));
+        logger.log(TAG, "Сложность слов рассчитана за " + (System.nanoTime() - start) / 1_000_000 + " мс");
+
+        long[] codes = new long[size];
+        for (int i = 0; i < size; i++) {
+            codes[i] = dictionary.codeAt(i);
+        }
+        Arrays.sort(codes);
+        DifficultyStats.Builder builder = new DifficultyStats.Builder(dictionary.getWordLength(), size);
+        for (long code : codes) {
+            int index = dictionary.indexOf(code);
+            if (affected[index]) {
+                builder.add(code, attempts[index], failureRates[index]);
+            } else {
+                builder.copy(previous, previous.indexOf(code));
+            }
+        }
+        return builder.build();
+    }
+
+    private boolean[] findAffected(WordleDictionary dictionary, DifficultyStats previous) {
+        boolean[] affected = new boolean[dictionary.size()];
+        if (previous == null) {
+            Arrays.fill(affected, true);
+            return affected;
+        }
+        SuggestionIndex neighbours = dictionary.getSuggestionIndex();
+        long[] found = new long[dictionary.getWordLength() * dictionary.getAlphabet().size()]; // все соседи на расстоянии 1
+        for (int i = 0; i < dictionary.size(); i++) {
+            long code = dictionary.codeAt(i);
+            if (previous.indexOf(code) < 0) {
+                affected[i] = true;
+                markNeighbours(dictionary, neighbours, code, found, affected);
+            }
+        }
+        for (int i = 0; i < previous.size(); i++) {
+            long code = previous.codeAt(i);
+            if (!dictionary.containsCode(code)) {
+                markNeighbours(dictionary, neighbours, code, found, affected);
+            }
+        }
+        return affected;
+    }
+
+    private static void markNeighbours(WordleDictionary dictionary, SuggestionIndex neighbours, long code, long[] found,
+                                       boolean[] affected) {
+        int count = neighbours.findNearest(code, CHANGE_RADIUS, found);
+        for (int i = 0; i < count; i++) {
+            affected[dictionary.indexOf(found[i])] = true;
+        }
+    }
+
+    private class SimulationTask extends RecursiveAction {
+        private final WordleDictionary dictionary;
+        private final boolean[] affected;
+        private final float[] attempts;
+        private final float[] failureRates;
+        private final int from;
+        private final int to;
+
+        SimulationTask(WordleDictionary dictionary, boolean[] affected, float[] attempts, float[] failureRates, int from, int to) {
+            this.dictionary = dictionary;
+            this.affected = affected;
+            this.attempts = attempts;
+            this.failureRates = failureRates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > WORDS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SimulationTask(dictionary, affected, attempts, failureRates, from, middle),
+                        new SimulationTask(dictionary, affected, attempts, failureRates, middle, to));
+                return;
+            }
+            WordleGame game = new WordleGame(gameLogger, dictionary);
+            for (int index = from; index < to; index++) {
+                if (affected[index]) {
+                    simulate(game, index);
+                }
+            }
+        }
+
+        private void simulate(WordleGame game, int index) {
+            String answer = dictionary.decode(dictionary.codeAt(index));
+            int totalAttempts = 0;
+            int failures = 0;
+            try {
+                for (int simulation = 0; simulation < SIMULATIONS_PER_WORD; simulation++) {
+                    game.setAnswer(answer);
+                    while (!game.isEnd()) {
+                        game.checkWordFeedback(game.guessWord());
+                    }
+                    if (game.getGameProgressState() == WordleGameState.GameProgressState.WIN) {
+                        totalAttempts += game.getUsedAttempts();
+                    } else {
+                        totalAttempts += WordleGame.MAX_STEPS + 1;
+                        failures++;
+                    }
+                }
+            } catch (WordleGameException e) {
+                throw new IllegalStateException("Ошибка симуляции игры для слова " + answer, e);
+            }
+            attempts[index] = (float) totalAttempts / SIMULATIONS_PER_WORD;
+            failureRates[index] = (float) failures / SIMULATIONS_PER_WORD;
+        }
+    }
+}
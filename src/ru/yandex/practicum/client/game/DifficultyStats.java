@@ -0,0 +1,143 @@
+package ru.yandex.practicum.client.game;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+// Сложность слов, посчитанная DifficultyAnalyzer: среднее число попыток (проигрыш считается как MAX_STEPS + 1)
+// и доля проигрышей. Записи упорядочены по кодам слов, а не по индексам словаря, поэтому статистика переживает
+// изменение словаря и пересчитывается только для затронутых слов. Значения хранятся с фиксированной точкой
+// в char - 12 байт на слово и в памяти, и в файле.
+// Формат файла (big-endian):
+//   int    MAGIC
+//   short  VERSION
+//   short  длина слова
+//   int    количество слов
+//   ...    для каждого слова: long код, char попытки * ATTEMPTS_SCALE, char доля проигрышей * FAILURE_RATE_SCALE
+public class DifficultyStats {
+    public static final int MAGIC = 0x57444946; // "WDIF"
+    public static final short VERSION = 1;
+    private static final float ATTEMPTS_SCALE = 1000;
+    private static final float FAILURE_RATE_SCALE = Character.MAX_VALUE;
+
+    private final int wordLength;
+    private final long[] codes;
+    private final char[] attempts;
+    private final char[] failureRates;
+
+    private DifficultyStats(int wordLength, long[] codes, char[] attempts, char[] failureRates) {
+        this.wordLength = wordLength;
+        this.codes = codes;
+        this.attempts = attempts;
+        this.failureRates = failureRates;
+    }
+
+    // Билдер принимает записи в порядке возрастания кодов (см. DifficultyAnalyzer)
+    static class Builder {
+        private final int wordLength;
+        private final long[] codes;
+        private final char[] attempts;
+        private final char[] failureRates;
+        private int size;
+
+        Builder(int wordLength, int capacity) {
+            this.wordLength = wordLength;
+            this.codes = new long[capacity];
+            this.attempts = new char[capacity];
+            this.failureRates = new char[capacity];
+        }
+
+        Builder add(long code, float expectedAttempts, float failureRate) {
+            return add(code, (char) Math.round(expectedAttempts * ATTEMPTS_SCALE), (char) Math.round(failureRate * FAILURE_RATE_SCALE));
+        }
+
+        Builder copy(DifficultyStats source, int index) {
+            return add(source.codes[index], source.attempts[index], source.failureRates[index]);
+        }
+
+        private Builder add(long code, char scaledAttempts, char scaledFailureRate) {
+            if (size > 0 && code <= codes[size - 1]) throw new IllegalArgumentException("Коды слов должны возрастать");
+            codes[size] = code;
+            attempts[size] = scaledAttempts;
+            failureRates[size++] = scaledFailureRate;
+            return this;
+        }
+
+        DifficultyStats build() {
+            return new DifficultyStats(wordLength, Arrays.copyOf(codes, size), Arrays.copyOf(attempts, size),
+                    Arrays.copyOf(failureRates, size));
+        }
+    }
+
+    public static DifficultyStats read(String fileName) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException("Неизвестный формат файла сложности слов: " + fileName);
+            }
+            int wordLength = in.readShort();
+            int size = in.readInt();
+            if (size < 0) throw new IOException("Некорректное количество слов: " + size);
+            Builder builder = new Builder(wordLength, size);
+            for (int i = 0; i < size; i++) {
+                builder.add(in.readLong(), in.readChar(), in.readChar());
+            }
+            return builder.build();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Записи файла сложности слов не упорядочены: " + fileName, e);
+        }
+    }
+
+    public void write(String fileName) throws IOException {
+        Path path = Paths.get("", fileName).toAbsolutePath();
+        Path tempPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), null);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeShort(wordLength);
+                out.writeInt(codes.length);
+                for (int i = 0; i < codes.length; i++) {
+                    out.writeLong(codes[i]);
+                    out.writeChar(attempts[i]);
+                    out.writeChar(failureRates[i]);
+                }
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    // Номер записи слова или -1
+    public int indexOf(long code) {
+        int index = Arrays.binarySearch(codes, code);
+        return index >= 0 ? index : -1;
+    }
+
+    public long codeAt(int index) {
+        return codes[index];
+    }
+
+    public float getExpectedAttempts(int index) {
+        return attempts[index] / ATTEMPTS_SCALE;
+    }
+
+    public float getFailureRate(int index) {
+        return failureRates[index] / FAILURE_RATE_SCALE;
+    }
+
+    public long sizeInBytes() {
+        return (long) codes.length * (Long.BYTES + 2 * Character.BYTES);
+    }
+}
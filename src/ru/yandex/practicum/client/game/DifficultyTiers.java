@@ -0,0 +1,72 @@
+package ru.yandex.practicum.client.game;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Слова словаря ответов, разложенные на три равных по размеру уровня по среднему числу попыток из DifficultyStats.
+// Уровень - массив индексов словаря, поэтому слово нужного уровня выбирается за O(1). Слова без статистики
+// (добавленные после расчета) считаются средними.
+public class DifficultyTiers {
+    private final WordleDictionary dictionary;
+    private final int[][] tiers;
+
+    private DifficultyTiers(WordleDictionary dictionary, int[][] tiers) {
+        this.dictionary = dictionary;
+        this.tiers = tiers;
+    }
+
+    public static DifficultyTiers of(WordleDictionary dictionary, DifficultyStats stats) {
+        int size = dictionary.size();
+        float[] scores = new float[size];
+        float[] known = new float[size];
+        int knownCount = 0;
+        for (int i = 0; i < size; i++) {
+            int entry = stats.getWordLength() == dictionary.getWordLength() ? stats.indexOf(dictionary.codeAt(i)) : -1;
+            scores[i] = entry >= 0 ? stats.getExpectedAttempts(entry) : Float.NaN;
+            if (entry >= 0) known[knownCount++] = scores[i];
+        }
+        Arrays.sort(known, 0, knownCount);
+        float median = knownCount > 0 ? known[knownCount / 2] : 0;
+        // сортировка индексов по оценке без упаковки в объекты: неотрицательный float сравнивается как int
+        long[] order = new long[size];
+        for (int i = 0; i < size; i++) {
+            float score = Float.isNaN(scores[i]) ? median : scores[i];
+            order[i] = (long) Float.floatToIntBits(score) << Integer.SIZE | i;
+        }
+        Arrays.sort(order);
+        Difficulty[] levels = Difficulty.values();
+        int[][] tiers = new int[levels.length][];
+        for (int level = 0; level < levels.length; level++) {
+            int from = (int) ((long) size * level / levels.length);
+            int to = (int) ((long) size * (level + 1) / levels.length);
+            tiers[level] = new int[to - from];
+            for (int i = from; i < to; i++) {
+                tiers[level][i - from] = (int) order[i];
+            }
+        }
+        return new DifficultyTiers(dictionary, tiers);
+    }
+
+    // Случайный индекс слова уровня; если слов уровня нет (словарь меньше трех слов) - любого слова словаря
+    public int randomIndex(Difficulty difficulty, Random random) {
+        int[] tier = tiers[difficulty.ordinal()];
+        return tier.length > 0 ? tier[random.nextInt(tier.length)] : dictionary.randomIndex(random);
+    }
+
+    // Индексы слов уровня, без копирования - только для чтения
+    int[] indices(Difficulty difficulty) {
+        return tiers[difficulty.ordinal()];
+    }
+
+    public int size(Difficulty difficulty) {
+        return tiers[difficulty.ordinal()].length;
+    }
+
+    public boolean isFor(WordleDictionary dictionary) {
+        return this.dictionary == dictionary;
+    }
+
+    public enum Difficulty {
+        EASY, MEDIUM, HARD
+    }
+}
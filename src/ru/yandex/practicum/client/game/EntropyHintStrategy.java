@@ -0,0 +1,30 @@
+package ru.yandex.practicum.client.game;
+
+// Наибольшая энтропия разбиения - минимум суммы c*log(c) по размерам корзин c: в среднем больше всего информации
+public class EntropyHintStrategy extends PartitionHintStrategy {
+    @Override
+    public long suggestCode(WordleDictionary answers, CandidateSet candidates, WordleDictionary guesses, long deadline,
+            FeedbackMatrix feedback) {
+        // без знаний подсказка зависит только от словаря (см. WordleDictionary.getOpeningGuess), но под сроком
+        // используется, только если уже посчитана; с отдельными допустимыми словами первая догадка ищется по ним
+        if (guesses == answers && candidates.size() == answers.size()) {
+            int opening = deadline == NO_DEADLINE ? answers.getOpeningGuess() : answers.peekOpeningGuess();
+            if (opening >= 0) return answers.codeAt(opening);
+        }
+        return super.suggestCode(answers, candidates, guesses, deadline, feedback);
+    }
+
+    static int openingGuess(WordleDictionary dictionary) {
+        long opening = new EntropyHintStrategy().search(dictionary, new CandidateSet(dictionary.size()), dictionary, NO_DEADLINE, null);
+        return dictionary.indexOf(opening);
+    }
+
+    @Override
+    protected double cost(int[] histogram, int candidatesCount) {
+        double cost = 0;
+        for (int size : histogram) {
+            if (size > 1) cost += size * Math.log(size);
+        }
+        return cost;
+    }
+}
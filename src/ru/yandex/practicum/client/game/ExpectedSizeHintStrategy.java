@@ -0,0 +1,14 @@
+package ru.yandex.practicum.client.game;
+
+// Наименьшее ожидаемое число оставшихся кандидатов: ответ попадает в корзину c с вероятностью c/n и оставляет
+// c кандидатов, поэтому минимизируется сумма c^2
+public class ExpectedSizeHintStrategy extends PartitionHintStrategy {
+    @Override
+    protected double cost(int[] histogram, int candidatesCount) {
+        long squares = 0;
+        for (int size : histogram) {
+            squares += (long) size * size;
+        }
+        return squares;
+    }
+}
@@ -0,0 +1,132 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.WordCodec;
+
+// Ответ игры на слово - одно число: по троичной цифре на позицию, первая позиция в старшем разряде
+// (для слов из 5 букв 3^5 = 243 значения). Вычисляется по кодам слов без выделения памяти и без массивов
+// счетчиков, строка "+^-" собирается только для вывода пользователю (render).
+// compute - горячий цикл подсказок, поэтому работает с кодом слова как с вектором ячеек (SWAR),
+// computeReference - прямой побуквенный расчет, по которому compute проверяется.
+public class Feedback {
+    public static final int NOT_IN_WORD = 0;
+    public static final int WRONG_PLACE = 1;
+    public static final int RIGHT_PLACE = 2;
+    private static final int BASE = 3;
+    private static final char NOT_IN_WORD_MASK = '-';
+    private static final char WRONG_PLACE_MASK = '^';
+    private static final char RIGHT_PLACE_MASK = '+';
+
+    // В оригинальной wordle подсвечивается только то количество букв, которое действительно содержится в слове.
+    // Например, загадано слово "trail", тогда при вводе "teRra" подсветит только первую букву R! Зеленые позиции -
+    // одно сравнение всех ячеек кодов сразу. Буквы незеленых позиций ответа считаются побитно по значению ячейки
+    // (once/twice - буква встречается хотя бы один/два раза), и каждая желтая буква догадки слева направо
+    // уменьшает свой счетчик. Циклы без ветвлений по буквам, внутренних циклов и массивов нет.
+    public static int compute(long answerCode, long guessCode, int wordLength) {
+        long rightPlaces = WordCodec.equalLanes(answerCode, guessCode) & WordCodec.lanes(wordLength);
+        // счетчики букв незеленых позиций ответа по битам значения ячейки: есть хотя бы одна, две, три
+        long once = 0;
+        long twice = 0;
+        long thrice = 0;
+        for (int shift = 0; shift < wordLength * WordCodec.LETTER_BITS; shift += WordCodec.LETTER_BITS) {
+            long letter = (~rightPlaces >>> shift & 1) << (answerCode >>> shift & WordCodec.LETTER_MASK);
+            thrice |= twice & letter;
+            twice |= once & letter;
+            once |= letter;
+        }
+        if (thrice != 0) return computeRepeated(answerCode, guessCode, wordLength, rightPlaces);
+        int feedback = 0;
+        for (int shift = (wordLength - 1) * WordCodec.LETTER_BITS; shift >= 0; shift -= WordCodec.LETTER_BITS) {
+            long green = rightPlaces >>> shift & 1;
+            long letter = (green ^ 1) << (guessCode >>> shift & WordCodec.LETTER_MASK);
+            long found = once & letter;
+            long second = twice & letter; // желтая буква занимает одну из букв ответа
+            twice ^= second;
+            once ^= found & ~second;
+            feedback = feedback * BASE + (int) (green * RIGHT_PLACE | (found | -found) >>> Long.SIZE - 1);
+        }
+        return feedback;
+    }
+
+    // Буква в трех и более незеленых позициях ответа: редкий случай, буквы сопоставляются по ячейкам
+    private static int computeRepeated(long answerCode, long guessCode, int wordLength, long rightPlaces) {
+        long available = WordCodec.lanes(wordLength) & ~rightPlaces; // ячейки ответа, еще не подсвеченные желтым
+        int feedback = 0;
+        for (int shift = (wordLength - 1) * WordCodec.LETTER_BITS; shift >= 0; shift -= WordCodec.LETTER_BITS) {
+            long green = rightPlaces >>> shift & 1;
+            long letter = (guessCode >>> shift & WordCodec.LETTER_MASK) * WordCodec.LANE_LOW_BITS;
+            long matches = WordCodec.equalLanes(answerCode, letter) & available & green - 1;
+            available ^= matches & -matches;
+            feedback = feedback * BASE + (int) (green * RIGHT_PLACE | (matches | -matches) >>> Long.SIZE - 1);
+        }
+        return feedback;
+    }
+
+    // Побуквенный расчет по определению: буква на чужом месте желтая, только пока левее нее таких же
+    // нежелтых-незеленых букв догадки меньше, чем таких букв в незеленых позициях ответа. Эталон для compute
+    public static int computeReference(long answerCode, long guessCode, int wordLength) {
+        int rightPlaces = 0; // бит позиции - буква на своем месте
+        for (int position = 0; position < wordLength; position++) {
+            if (WordCodec.letterAt(answerCode, position, wordLength) == WordCodec.letterAt(guessCode, position, wordLength)) {
+                rightPlaces |= 1 << position;
+            }
+        }
+        int feedback = 0;
+        for (int position = 0; position < wordLength; position++) {
+            feedback *= BASE;
+            if ((rightPlaces & 1 << position) != 0) {
+                feedback += RIGHT_PLACE;
+                continue;
+            }
+            int letter = WordCodec.letterAt(guessCode, position, wordLength);
+            int available = 0;
+            for (int other = 0; other < wordLength; other++) {
+                if ((rightPlaces & 1 << other) == 0 && WordCodec.letterAt(answerCode, other, wordLength) == letter) {
+                    available++;
+                }
+            }
+            int usedBefore = 0;
+            for (int other = 0; other < position && usedBefore < available; other++) {
+                if ((rightPlaces & 1 << other) == 0 && WordCodec.letterAt(guessCode, other, wordLength) == letter) {
+                    usedBefore++;
+                }
+            }
+            if (usedBefore < available) {
+                feedback += WRONG_PLACE;
+            }
+        }
+        return feedback;
+    }
+
+    public static int digitAt(int feedback, int position, int wordLength) {
+        for (int i = wordLength - 1; i > position; i--) {
+            feedback /= BASE;
+        }
+        return feedback % BASE;
+    }
+
+    // Все буквы на своих местах
+    public static int solved(int wordLength) {
+        return valuesCount(wordLength) - 1;
+    }
+
+    public static int valuesCount(int wordLength) {
+        int count = 1;
+        for (int i = 0; i < wordLength; i++) {
+            count *= BASE;
+        }
+        return count;
+    }
+
+    public static String render(int feedback, int wordLength) {
+        char[] pattern = new char[wordLength];
+        for (int position = wordLength - 1; position >= 0; position--) {
+            pattern[position] = switch (feedback % BASE) {
+                case RIGHT_PLACE -> RIGHT_PLACE_MASK;
+                case WRONG_PLACE -> WRONG_PLACE_MASK;
+                default -> NOT_IN_WORD_MASK;
+            };
+            feedback /= BASE;
+        }
+        return String.valueOf(pattern);
+    }
+}
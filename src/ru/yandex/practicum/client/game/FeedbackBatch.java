@@ -0,0 +1,99 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.WordCodec;
+
+// Пакетный расчет ответов (см. Feedback) одной догадки сразу на все слова словаря. Буквы хранятся по столбцам:
+// массив на позицию, в нем буква каждого слова. Каждый проход - цикл без ветвлений над int-массивами, который
+// JIT разворачивает в векторные инструкции (сравнение букв - арифметика, а не условие). Проходы используют
+// рабочие массивы Scorer, поэтому у каждого потока свой Scorer, а сам пакет неизменяем и разделяется.
+public class FeedbackBatch {
+    private static final int BASE = 3;
+
+    private final int wordLength;
+    private final int size;
+    private final int[][] letters; // [позиция][индекс слова] - значение ячейки кода (номер буквы + 1)
+
+    FeedbackBatch(WordleDictionary dictionary) {
+        wordLength = dictionary.getWordLength();
+        size = dictionary.size();
+        letters = new int[wordLength][size];
+        for (int index = 0; index < size; index++) {
+            long code = dictionary.codeAt(index);
+            for (int position = 0; position < wordLength; position++) {
+                letters[position][index] = WordCodec.letterAt(code, position, wordLength) + 1;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Scorer newScorer() {
+        return new Scorer();
+    }
+
+    public long sizeInBytes() {
+        return (long) wordLength * size * Integer.BYTES;
+    }
+
+    public class Scorer {
+        private final int[][] open = new int[wordLength][size]; // 1 - буква ответа на этой позиции не зеленая
+        private final int[] available = new int[size];
+        private final int[] guess = new int[wordLength];
+
+        private Scorer() {
+        }
+
+        // feedbacks[i] - ответ на догадку, если загадано слово словаря с индексом i
+        public void score(long guessCode, int[] feedbacks) {
+            if (feedbacks.length < size) throw new IllegalArgumentException("Массив ответов меньше словаря: " + feedbacks.length);
+            int[] guess = this.guess;
+            for (int position = 0; position < wordLength; position++) {
+                guess[position] = WordCodec.letterAt(guessCode, position, wordLength) + 1;
+                markOpen(letters[position], guess[position], open[position]);
+            }
+            for (int position = 0; position < wordLength; position++) {
+                // буква на чужом месте занимает одну из таких же незеленых букв ответа, поэтому из их количества
+                // вычитаются такие же незеленые буквы догадки левее
+                countOpen(letters[0], guess[position], open[0], true);
+                for (int other = 1; other < wordLength; other++) {
+                    countOpen(letters[other], guess[position], open[other], false);
+                }
+                for (int other = 0; other < position; other++) {
+                    if (guess[other] == guess[position]) subtractOpen(open[other]);
+                }
+                appendDigit(open[position], feedbacks, position == 0);
+            }
+        }
+
+        private void markOpen(int[] column, int letter, int[] open) {
+            for (int i = 0; i < size; i++) {
+                open[i] = -(column[i] ^ letter) >>> 31;
+            }
+        }
+
+        private void countOpen(int[] column, int letter, int[] open, boolean first) {
+            int[] available = this.available;
+            for (int i = 0; i < size; i++) {
+                int matches = open[i] & ((column[i] ^ letter) - 1) >>> 31;
+                available[i] = first ? matches : available[i] + matches;
+            }
+        }
+
+        private void subtractOpen(int[] open) {
+            int[] available = this.available;
+            for (int i = 0; i < size; i++) {
+                available[i] -= open[i];
+            }
+        }
+
+        private void appendDigit(int[] open, int[] feedbacks, boolean first) {
+            int[] available = this.available;
+            for (int i = 0; i < size; i++) {
+                int digit = Feedback.RIGHT_PLACE - Feedback.RIGHT_PLACE * open[i] + (open[i] & -available[i] >>> 31);
+                feedbacks[i] = first ? digit : feedbacks[i] * BASE + digit;
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Ответы (см. Feedback) для всех пар (допустимое слово, загадываемое слово): строка матрицы - индекс догадки,
+// столбец - индекс ответа, по байту на пару (по два для слов длиннее 5 букв, где ответов больше 256).
+// Заполняется параллельно по строкам прямо в отображенный в память файл кеша, имя которого - отпечаток обоих
+// словарей (WordleDictionary.contentHash): следующие запуски и другие процессы отображают готовый файл,
+// а поиск ответа - одно чтение из буфера. Подсказки перебирают догадками все допустимые слова (см.
+// PartitionHintStrategy), поэтому читается каждая строка.
+// Формат файла (big-endian):
+//   int    MAGIC
+//   short  VERSION
+//   short  длина слова
+//   int    байт на ответ
+//   int    количество допустимых слов
+//   int    количество загадываемых слов
+//   long   отпечаток словаря допустимых слов
+//   long   отпечаток словаря загадываемых слов
+//   ...    выравнивание до DATA_OFFSET, затем матрица по строкам
+public class FeedbackMatrix {
+    public static final int MAGIC = 0x5746424D; // "WFBM"
+    public static final short VERSION = 1;
+    static final int DATA_OFFSET = 64;
+    private static final String FILE_NAME_FORMAT = "feedback_%016x.fbm";
+    private static final int ROWS_PER_TASK = 16;
+
+    private final int wordLength;
+    private final int guessesCount;
+    private final int answersCount;
+    private final int entryBytes;
+    private final long guessesHash;
+    private final long answersHash;
+    private final ByteBuffer data; // с нулевой позиции начинается матрица
+
+    private FeedbackMatrix(WordleDictionary guesses, WordleDictionary answers, int entryBytes, ByteBuffer data) {
+        this.wordLength = guesses.getWordLength();
+        this.guessesCount = guesses.size();
+        this.answersCount = answers.size();
+        this.entryBytes = entryBytes;
+        this.guessesHash = guesses.contentHash();
+        this.answersHash = answers.contentHash();
+        this.data = data;
+    }
+
+    // Матрица в памяти процесса, без файла кеша
+    public static FeedbackMatrix compute(WordleDictionary guesses, WordleDictionary answers) {
+        int entryBytes = entryBytes(checkDictionaries(guesses, answers));
+        ByteBuffer data = ByteBuffer.allocate(checkedSize(guesses, answers, entryBytes));
+        fill(guesses, answers, entryBytes, data);
+        return new FeedbackMatrix(guesses, answers, entryBytes, data);
+    }
+
+    // Отображает файл кеша из cacheDir, а если его нет или он не подходит словарям - считает и сохраняет
+    public static FeedbackMatrix open(Logger logger, String cacheDir, WordleDictionary guesses, WordleDictionary answers)
+            throws IOException {
+        String tag = FeedbackMatrix.class.getSimpleName();
+        int wordLength = checkDictionaries(guesses, answers);
+        int entryBytes = entryBytes(wordLength);
+        int dataSize = checkedSize(guesses, answers, entryBytes);
+        Path file = Paths.get(cacheDir, fileName(guesses, answers)).toAbsolutePath();
+        if (Files.exists(file)) {
+            FeedbackMatrix cached = map(file, guesses, answers, entryBytes, dataSize);
+            if (cached != null) {
+                logger.log(tag, "Матрица ответов отображена из кеша: " + file);
+                return cached;
+            }
+            logger.log(tag, "Файл кеша матрицы ответов не подходит словарям, пересчитываем: " + file);
+        }
+        long start = System.nanoTime();
+        Files.createDirectories(file.getParent());
+        // пишем во временный файл и атомарно подменяем: другие процессы видят либо старый файл, либо готовый новый
+        Path tempPath = Files.createTempFile(file.getParent(), file.getFileName().toString(), null);
+        try {
+            try (RandomAccessFile raf = new RandomAccessFile(tempPath.toFile(), "rw")) {
+                raf.setLength(DATA_OFFSET + (long) dataSize);
+                MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, DATA_OFFSET + (long) dataSize);
+                buffer.putInt(MAGIC)
+                        .putShort(VERSION)
+                        .putShort((short) wordLength)
+                        .putInt(entryBytes)
+                        .putInt(guesses.size())
+                        .putInt(answers.size())
+                        .putLong(guesses.contentHash())
+                        .putLong(answers.contentHash());
+                fill(guesses, answers, entryBytes, buffer.slice(DATA_OFFSET, dataSize));
+                buffer.force();
+            }
+            Files.move(tempPath, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+        logger.log(tag, "Матрица ответов " + guesses.size() + "x" + answers.size() + " посчитана за "
+                + (System.nanoTime() - start) / 1_000_000 + " мс и сохранена: " + file);
+        FeedbackMatrix matrix = map(file, guesses, answers, entryBytes, dataSize);
+        if (matrix == null) throw new IOException("Не удалось отобразить файл кеша матрицы ответов: " + file);
+        return matrix;
+    }
+
+    static String fileName(WordleDictionary guesses, WordleDictionary answers) {
+        long hash = guesses.contentHash() * 0x9E3779B97F4A7C15L ^ answers.contentHash();
+        return String.format(FILE_NAME_FORMAT, hash);
+    }
+
+    public int get(int guessIndex, int answerIndex) {
+        int offset = guessIndex * answersCount + answerIndex;
+        return entryBytes == 1 ? data.get(offset) & 0xFF : data.getChar(offset * 2);
+    }
+
+    // Матрица посчитана для словарей с тем же содержимым, индексы слов совпадают
+    public boolean isFor(WordleDictionary guesses, WordleDictionary answers) {
+        return guesses.size() == guessesCount && answers.size() == answersCount
+                && guesses.contentHash() == guessesHash && answers.contentHash() == answersHash;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int getGuessesCount() {
+        return guessesCount;
+    }
+
+    public int getAnswersCount() {
+        return answersCount;
+    }
+
+    public long sizeInBytes() {
+        return (long) guessesCount * answersCount * entryBytes;
+    }
+
+    // Размер матрицы для словарей, без ее расчета
+    static long sizeInBytes(WordleDictionary guesses, WordleDictionary answers) {
+        return (long) guesses.size() * answers.size() * entryBytes(guesses.getWordLength());
+    }
+
+    private static FeedbackMatrix map(Path file, WordleDictionary guesses, WordleDictionary answers, int entryBytes, int dataSize)
+            throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != DATA_OFFSET + (long) dataSize) return null;
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        boolean matches = buffer.getInt() == MAGIC
+                && buffer.getShort() == VERSION
+                && buffer.getShort() == guesses.getWordLength()
+                && buffer.getInt() == entryBytes
+                && buffer.getInt() == guesses.size()
+                && buffer.getInt() == answers.size()
+                && buffer.getLong() == guesses.contentHash()
+                && buffer.getLong() == answers.contentHash();
+        if (!matches) return null;
+        return new FeedbackMatrix(guesses, answers, entryBytes, buffer.slice(DATA_OFFSET, dataSize));
+    }
+
+    private static int checkDictionaries(WordleDictionary guesses, WordleDictionary answers) {
+        if (guesses.getWordLength() != answers.getWordLength() || !guesses.getAlphabet().hasSameLetters(answers.getAlphabet())) {
+            throw new IllegalArgumentException("Словари ответов и допустимых слов должны совпадать по длине слов и алфавиту");
+        }
+        return guesses.getWordLength();
+    }
+
+    private static int entryBytes(int wordLength) {
+        return Feedback.valuesCount(wordLength) <= 1 << Byte.SIZE ? Byte.BYTES : Character.BYTES;
+    }
+
+    // Буфер адресуется int, поэтому матрица ограничена 2 ГБ
+    private static int checkedSize(WordleDictionary guesses, WordleDictionary answers, int entryBytes) {
+        long size = (long) guesses.size() * answers.size() * entryBytes;
+        if (size > Integer.MAX_VALUE - DATA_OFFSET) {
+            throw new IllegalArgumentException("Матрица ответов " + guesses.size() + "x" + answers.size() + " не помещается в 2 ГБ");
+        }
+        return (int) size;
+    }
+
+    private static void fill(WordleDictionary guesses, WordleDictionary answers, int entryBytes, ByteBuffer data) {
+        long[] guessCodes = codes(guesses);
+        long[] answerCodes = codes(answers);
+        ForkJoinPool.commonPool().invoke(new FillTask(guessCodes, answerCodes, guesses.getWordLength(), entryBytes, data,
+                0, guessCodes.length));
+    }
+
+    private static long[] codes(WordleDictionary dictionary) {
+        long[] codes = new long[dictionary.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = dictionary.codeAt(i);
+        }
+        return codes;
+    }
+
+    // Строки пишутся в непересекающиеся участки буфера абсолютными put, поэтому задачам не нужна синхронизация
+    private static class FillTask extends RecursiveAction {
+        private final long[] guessCodes;
+        private final long[] answerCodes;
+        private final int wordLength;
+        private final int entryBytes;
+        private final ByteBuffer data;
+        private final int fromRow;
+        private final int toRow;
+
+        FillTask(long[] guessCodes, long[] answerCodes, int wordLength, int entryBytes, ByteBuffer data, int fromRow, int toRow) {
+            this.guessCodes = guessCodes;
+            this.answerCodes = answerCodes;
+            this.wordLength = wordLength;
+            this.entryBytes = entryBytes;
+            this.data = data;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow > ROWS_PER_TASK) {
+                int middle = (fromRow + toRow) >>> 1;
+                invokeAll(new FillTask(guessCodes, answerCodes, wordLength, entryBytes, data, fromRow, middle),
+                        new FillTask(guessCodes, answerCodes, wordLength, entryBytes, data, middle, toRow));
+                return;
+            }
+            for (int row = fromRow; row < toRow; row++) {
+                int offset = row * answerCodes.length;
+                for (int column = 0; column < answerCodes.length; column++) {
+                    int feedback = Feedback.compute(answerCodes[column], guessCodes[row], wordLength);
+                    if (entryBytes == 1) {
+                        data.put(offset + column, (byte) feedback);
+                    } else {
+                        data.putChar((offset + column) * 2, (char) feedback);
+                    }
+                }
+            }
+        }
+    }
+}
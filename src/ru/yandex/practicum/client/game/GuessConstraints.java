@@ -0,0 +1,161 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.WordCodec;
+import ru.yandex.practicum.client.util.WordUtil;
+
+import java.util.Arrays;
+
+// Знания о загаданном слове по ответам на все догадки: буквы на своих местах, запрещенные позиции букв и границы
+// количества каждой буквы. Слово подходит под знания (см. matches) ровно тогда, когда на каждую догадку оно дало бы
+// тот же ответ, что и загаданное. Игра отсекает кандидатов индексом букв по тем же знаниям (наличие, отсутствие,
+// позиции), а matches проверяет только слова, у которых надо сосчитать буквы (см. WordleGame.applyFeedback).
+public class GuessConstraints {
+    private static final int LETTERS_COUNT = Long.SIZE; // номер буквы меньше 63 (см. WordUtil.letterMask)
+
+    private final int wordLength;
+    private final long lanes;
+    private final int[] placed; // номер буквы на позиции или WordleAlphabet.NO_LETTER
+    private final long[] excluded; // [позиция] - маска букв, которых на позиции точно нет
+    private final int[] minCounts = new int[LETTERS_COUNT];
+    private final int[] maxCounts = new int[LETTERS_COUNT];
+    private long placedCode;
+    private long placedLanes;
+    private long requiredLetters; // минимум не меньше 1
+    private long absentLetters; // максимум 0
+    private long countedLetters; // количество нужно считать: минимум больше 1 или максимум между 0 и длиной слова
+
+    public GuessConstraints(int wordLength) {
+        this.wordLength = wordLength;
+        lanes = WordCodec.lanes(wordLength);
+        placed = new int[wordLength];
+        excluded = new long[wordLength];
+        Arrays.fill(placed, WordleAlphabet.NO_LETTER);
+        Arrays.fill(maxCounts, wordLength);
+    }
+
+    public void reset() {
+        Arrays.fill(placed, WordleAlphabet.NO_LETTER);
+        Arrays.fill(excluded, 0);
+        Arrays.fill(minCounts, 0);
+        Arrays.fill(maxCounts, wordLength);
+        placedCode = 0;
+        placedLanes = 0;
+        requiredLetters = 0;
+        absentLetters = 0;
+        countedLetters = 0;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    // Учитывает ответ feedback (см. Feedback) на догадку guessCode
+    public void apply(long guessCode, int feedback) {
+        long guessLetters = 0;
+        for (int position = 0; position < wordLength; position++) {
+            int letterId = WordCodec.letterAt(guessCode, position, wordLength);
+            guessLetters |= 1L << letterId;
+            if (Feedback.digitAt(feedback, position, wordLength) == Feedback.RIGHT_PLACE) {
+                placed[position] = letterId;
+            } else {
+                excluded[position] |= 1L << letterId;
+            }
+        }
+        // буквы в слове - зеленые и желтые копии буквы догадки; серая копия значит, что других копий в слове нет
+        for (long rest = guessLetters; rest != 0; rest &= rest - 1) {
+            int letterId = Long.numberOfTrailingZeros(rest);
+            int found = 0;
+            boolean notInWord = false;
+            for (int position = 0; position < wordLength; position++) {
+                if (WordCodec.letterAt(guessCode, position, wordLength) != letterId) continue;
+                if (Feedback.digitAt(feedback, position, wordLength) == Feedback.NOT_IN_WORD) {
+                    notInWord = true;
+                } else {
+                    found++;
+                }
+            }
+            minCounts[letterId] = Math.max(minCounts[letterId], found);
+            if (notInWord) {
+                maxCounts[letterId] = Math.min(maxCounts[letterId], found);
+            }
+            updateLetter(letterId);
+        }
+        placedCode = placedCode(placed);
+        placedLanes = placedLanes(placed);
+    }
+
+    // Код слова из известных букв, неизвестные ячейки пусты
+    private static long placedCode(int[] letterIds) {
+        long code = 0;
+        for (int letterId : letterIds) {
+            code = letterId == WordleAlphabet.NO_LETTER ? code << WordCodec.LETTER_BITS : WordCodec.append(code, letterId);
+        }
+        return code;
+    }
+
+    // Все биты ячеек с известными буквами
+    private static long placedLanes(int[] letterIds) {
+        long lanes = 0;
+        for (int letterId : letterIds) {
+            lanes = lanes << WordCodec.LETTER_BITS | (letterId == WordleAlphabet.NO_LETTER ? 0 : WordCodec.LETTER_MASK);
+        }
+        return lanes;
+    }
+
+    private void updateLetter(int letterId) {
+        long bit = 1L << letterId;
+        if (minCounts[letterId] > 0) requiredLetters |= bit;
+        if (maxCounts[letterId] == 0) absentLetters |= bit;
+        if (minCounts[letterId] > 1 || (maxCounts[letterId] > 0 && maxCounts[letterId] < wordLength)) countedLetters |= bit;
+    }
+
+    // letterMask - маска букв слова (см. WordUtil.letterMask): большинство слов отсекается по ней без разбора кода
+    public boolean matches(long code, long letterMask) {
+        if (WordUtil.wordHasAnyLetter(letterMask, absentLetters)
+                || !WordUtil.wordHasAllLetters(letterMask, requiredLetters)
+                || !WordUtil.wordHasLettersInPlace(code, placedCode, placedLanes)) {
+            return false;
+        }
+        for (int position = 0; position < wordLength; position++) {
+            if ((excluded[position] >>> WordCodec.letterAt(code, position, wordLength) & 1) != 0) return false;
+        }
+        // буквы, которых в слове нет, уже проверены масками
+        return hasAllowedCounts(code, countedLetters & letterMask);
+    }
+
+    // Количество каждой из букв letters в слове в границах знаний
+    public boolean hasAllowedCounts(long code, long letters) {
+        for (long rest = letters; rest != 0; rest &= rest - 1) {
+            int letterId = Long.numberOfTrailingZeros(rest);
+            int count = Long.bitCount(WordCodec.equalLanes(code, lanes * (letterId + 1)) & lanes);
+            if (count < minCounts[letterId] || count > maxCounts[letterId]) return false;
+        }
+        return true;
+    }
+
+    public long getRequiredLetters() {
+        return requiredLetters;
+    }
+
+    public long getAbsentLetters() {
+        return absentLetters;
+    }
+
+    // Буквы, для которых известны границы количества, кроме одного лишь наличия или отсутствия
+    public long getCountedLetters() {
+        return countedLetters;
+    }
+
+    public int getMinCount(int letterId) {
+        return minCounts[letterId];
+    }
+
+    public int getMaxCount(int letterId) {
+        return maxCounts[letterId];
+    }
+
+    // Номер буквы на позиции или WordleAlphabet.NO_LETTER
+    public int[] getPlaced() {
+        return placed.clone();
+    }
+}
@@ -0,0 +1,108 @@
+package ru.yandex.practicum.client.game;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+// Коды слов в плотном массиве + таблица открытой адресации с линейным пробированием.
+// Ячейка таблицы хранит индекс слова + 1, 0 означает пустую ячейку. Изменяется только при сборке словаря
+// (см. WordleDictionaryBuilder), в словарь попадает замороженная копия (см. toReadOnly).
+class HeapWordStore implements WordStore {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] codes;
+    private int size;
+    private int[] slots;
+    private int mask;
+
+    HeapWordStore() {
+        this(MIN_CAPACITY);
+    }
+
+    HeapWordStore(int expectedSize) {
+        codes = new long[Math.max(expectedSize, MIN_CAPACITY)];
+        allocateSlots(tableCapacityFor(expectedSize));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long codeAt(int index) {
+        return codes[index];
+    }
+
+    @Override
+    public int indexOf(long code) {
+        for (int slot = WordStore.slot(code, mask); ; slot = (slot + 1) & mask) {
+            int ref = slots[slot];
+            if (ref == 0) return -1;
+            if (codes[ref - 1] == code) return ref - 1;
+        }
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return (long) codes.length * Long.BYTES + (long) slots.length * Integer.BYTES;
+    }
+
+    boolean add(long code) {
+        int slot = WordStore.slot(code, mask);
+        for (int ref = slots[slot]; ref != 0; ref = slots[slot]) {
+            if (codes[ref - 1] == code) return false;
+            slot = (slot + 1) & mask;
+        }
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size * 2);
+        }
+        codes[size++] = code;
+        slots[slot] = size;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    int[] getSlots() {
+        return slots;
+    }
+
+    // Перестраивает таблицу заново с минимальным размером
+    static HeapWordStore copyOf(WordStore source) {
+        HeapWordStore store = new HeapWordStore(source.size());
+        for (int i = 0; i < source.size(); i++) {
+            store.add(source.codeAt(i));
+        }
+        return store;
+    }
+
+    BufferWordStore toReadOnly() {
+        return new BufferWordStore(LongBuffer.wrap(codes, 0, size).slice(), IntBuffer.wrap(slots));
+    }
+
+    static int tableCapacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void rehash(int capacity) {
+        allocateSlots(capacity);
+        for (int i = 0; i < size; i++) {
+            int slot = WordStore.slot(codes[i], mask);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    private void allocateSlots(int capacity) {
+        slots = new int[capacity];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.exception.WordleGameEmptyWordsCollectionException;
+
+// Выбор подсказки по оставшимся кандидатам. Стратегия укладывается в срок deadline (по System.nanoTime): когда он
+// истекает, возвращается лучшая из уже оцененных догадок, поэтому срок можно задавать на каждый запрос и
+// разменивать качество подсказки на задержку
+public interface HintStrategy {
+    long NO_DEADLINE = Long.MAX_VALUE;
+
+    // Индекс подсказки в словаре; candidates - непустое множество индексов того же неизменяемого словаря
+    int suggest(WordleDictionary dictionary, CandidateSet candidates, long deadline) throws WordleGameEmptyWordsCollectionException;
+
+    // Код подсказки, когда допустимые догадки - отдельный словарь guesses: candidates - индексы словаря answers,
+    // feedback - матрица ответов guesses x answers или null. По умолчанию подсказка выбирается из кандидатов
+    default long suggestCode(WordleDictionary answers, CandidateSet candidates, WordleDictionary guesses, long deadline,
+            FeedbackMatrix feedback) throws WordleGameEmptyWordsCollectionException {
+        return answers.codeAt(suggest(answers, candidates, deadline));
+    }
+
+    static boolean isExpired(long deadline) {
+        return deadline != NO_DEADLINE && System.nanoTime() - deadline >= 0;
+    }
+}
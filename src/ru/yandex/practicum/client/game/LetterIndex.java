@@ -0,0 +1,43 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.WordCodec;
+
+// Инвертированный индекс словаря: для каждой буквы - битовое множество слов, где она стоит на данной позиции,
+// и множество слов, где она есть хотя бы раз. Биты пронумерованы индексами слов словаря, как в CandidateSet,
+// поэтому фильтрация кандидатов сводится к пословным AND / ANDNOT над long[].
+public class LetterIndex {
+    private final int wordLength;
+    private final int lettersCount;
+    private final long[][] atPosition; // [позиция * lettersCount + буква]
+    private final long[][] present;    // [буква]
+
+    LetterIndex(WordleDictionary dictionary) {
+        wordLength = dictionary.getWordLength();
+        lettersCount = dictionary.getAlphabet().size();
+        int words = (dictionary.size() + Long.SIZE - 1) / Long.SIZE;
+        atPosition = new long[wordLength * lettersCount][words];
+        present = new long[lettersCount][words];
+        for (int index = 0; index < dictionary.size(); index++) {
+            long code = dictionary.codeAt(index);
+            long bit = 1L << index;
+            int word = index / Long.SIZE;
+            for (int position = 0; position < wordLength; position++) {
+                int letter = WordCodec.letterAt(code, position, wordLength);
+                atPosition[position * lettersCount + letter][word] |= bit;
+                present[letter][word] |= bit;
+            }
+        }
+    }
+
+    public long[] wordsWithLetterAt(int position, int letterId) {
+        return atPosition[position * lettersCount + letterId];
+    }
+
+    public long[] wordsWithLetter(int letterId) {
+        return present[letterId];
+    }
+
+    public long sizeInBytes() {
+        return (long) (atPosition.length + present.length) * present[0].length * Long.BYTES;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.yandex.practicum.client.game;
+
+// Наименьшая наибольшая корзина: лучший гарантированный результат, при равенстве - меньший ожидаемый размер
+public class MinimaxHintStrategy extends PartitionHintStrategy {
+    @Override
+    protected double cost(int[] histogram, int candidatesCount) {
+        long largest = 0;
+        long squares = 0;
+        for (int size : histogram) {
+            largest = Math.max(largest, size);
+            squares += (long) size * size;
+        }
+        // сумма квадратов не больше квадрата числа кандидатов, поэтому не перевешивает разницу в наибольшей корзине
+        return (double) largest * ((long) candidatesCount * candidatesCount + 1) + squares;
+    }
+}
@@ -0,0 +1,208 @@
+package ru.yandex.practicum.client.game;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Подсказка по разбиению кандидатов: догадка делит кандидатов на корзины по ответу (см. Feedback, 3^длина корзин),
+// и выбирается догадка с наименьшей стоимостью разбиения (см. cost). Догадками перебираются все допустимые слова
+// (см. suggestCode), а не только кандидаты: слово вне кандидатов часто делит их лучше, но при равенстве выбирается
+// кандидат - он может оказаться ответом. Догадки делятся между потоками ForkJoinPool, у каждой задачи свои
+// гистограмма и рабочие массивы.
+//
+// Перебор укладывается в срок: сначала все потоки оценивают кандидатов и только затем остальные слова, и по
+// истечении срока возвращается лучшая из уже оцененных догадок. Если полный перебор заведомо не успеть, догадки
+// оцениваются по случайной выборке кандидатов.
+// С матрицей ответов (см. FeedbackMatrix) ответы не считаются, а читаются из нее, и выборка нужна реже.
+public abstract class PartitionHintStrategy implements HintStrategy {
+    private static final int TASKS_PER_THREAD = 4;
+    private static final int MIN_GUESSES_PER_TASK = 16;
+    // пакетный расчет считает ответы на весь словарь, но каждый в несколько раз быстрее поштучного (см. FeedbackBatch)
+    private static final int BATCH_MIN_CANDIDATES_SHARE = 5;
+    // расчет одного ответа на одном ядре, с запасом: поштучно и в пакете на весь словарь
+    private static final long NANOS_PER_FEEDBACK = 40;
+    private static final long NANOS_PER_BATCH_FEEDBACK = 10;
+    private static final long NANOS_PER_MATRIX_FEEDBACK = 2;
+    private static final int MIN_SAMPLE_SIZE = 64;
+
+    // Стоимость разбиения кандидатов по корзинам histogram, меньше - лучше
+    protected abstract double cost(int[] histogram, int candidatesCount);
+
+    @Override
+    public int suggest(WordleDictionary dictionary, CandidateSet candidates, long deadline) {
+        return dictionary.indexOf(suggestCode(dictionary, candidates, dictionary, deadline, null));
+    }
+
+    @Override
+    public long suggestCode(WordleDictionary answers, CandidateSet candidates, WordleDictionary guesses, long deadline,
+            FeedbackMatrix feedback) {
+        if (candidates.isEmpty()) throw new IllegalArgumentException("Нет кандидатов для подсказки");
+        // любая догадка делит их не лучше кандидата
+        if (candidates.size() <= 2) return answers.codeAt(candidates.nextIndex(0));
+        return search(answers, candidates, guesses, deadline, feedback);
+    }
+
+    long search(WordleDictionary answers, CandidateSet candidates, WordleDictionary guesses, long deadline,
+            FeedbackMatrix feedback) {
+        Search search = new Search(answers, candidates, guesses, deadline, feedback);
+        Choice best = search.searchPhase(0, search.candidatesCount);
+        if (!HintStrategy.isExpired(deadline)) {
+            Choice other = search.searchPhase(search.candidatesCount, search.guessesCount);
+            if (other != null && other.isBetter(best)) {
+                best = other;
+            }
+        }
+        // срок истек раньше, чем оценена хоть одна догадка
+        return best != null ? search.guessCodes[best.position()] : answers.codeAt(candidates.nextIndex(0));
+    }
+
+    private record Choice(int position, double cost, boolean candidate) {
+        // при равенстве - кандидат, затем меньший номер в переборе, чтобы результат не зависел от разбиения на задачи
+        boolean isBetter(Choice other) {
+            if (other == null) return true;
+            if (cost != other.cost) return cost < other.cost;
+            if (candidate != other.candidate) return candidate;
+            return position < other.position;
+        }
+    }
+
+    private class Search {
+        private final WordleDictionary answers;
+        private final long deadline;
+        private final FeedbackMatrix feedback; // null - ответы считаются
+        // догадки: сначала кандидаты по индексам answers, затем остальные допустимые слова по индексам guesses
+        private final long[] guessCodes;
+        private final int[] guessRows; // индекс догадки в guesses - строка матрицы ответов, -1 - слова там нет
+        private final int guessesCount;
+        private final int candidatesCount;
+        private final int[] answerIndices; // все кандидаты или их выборка
+        private final long[] answerCodes;
+        private final boolean batch;
+
+        Search(WordleDictionary answers, CandidateSet candidates, WordleDictionary guesses, long deadline, FeedbackMatrix feedback) {
+            this.answers = answers;
+            this.deadline = deadline;
+            this.feedback = feedback != null && feedback.isFor(guesses, answers) ? feedback : null;
+            candidatesCount = candidates.size();
+            guessCodes = new long[candidatesCount + guesses.size()];
+            guessRows = new int[guessCodes.length];
+            int[] sample = new int[candidatesCount];
+            int count = 0;
+            for (int index = candidates.nextIndex(0); index >= 0; index = candidates.nextIndex(index + 1)) {
+                long code = answers.codeAt(index);
+                sample[count] = index;
+                guessCodes[count] = code;
+                guessRows[count++] = guesses == answers ? index : guesses.indexOf(code);
+            }
+            for (int row = 0; row < guesses.size(); row++) {
+                long code = guesses.codeAt(row);
+                int answerIndex = guesses == answers ? row : answers.indexOf(code);
+                if (answerIndex >= 0 && candidates.contains(answerIndex)) continue; // уже среди кандидатов
+                guessCodes[count] = code;
+                guessRows[count++] = row;
+            }
+            guessesCount = count;
+            int sampleSize = sampleSize(candidatesCount);
+            if (sampleSize < candidatesCount) {
+                // частичное перемешивание: первые sampleSize мест занимают случайные кандидаты
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < sampleSize; i++) {
+                    int j = i + random.nextInt(candidatesCount - i);
+                    int swap = sample[i];
+                    sample[i] = sample[j];
+                    sample[j] = swap;
+                }
+                sample = Arrays.copyOf(sample, sampleSize);
+            }
+            answerIndices = sample;
+            answerCodes = new long[sampleSize];
+            for (int i = 0; i < sampleSize; i++) {
+                answerCodes[i] = answers.codeAt(answerIndices[i]);
+            }
+            batch = this.feedback == null && sampleSize == candidatesCount
+                    && candidatesCount * BATCH_MIN_CANDIDATES_SHARE >= answers.size();
+        }
+
+        // Сколько кандидатов успеть сравнить с каждой догадкой до срока; выборка не меньше MIN_SAMPLE_SIZE,
+        // остальное отсекает срок
+        private int sampleSize(int candidatesCount) {
+            if (deadline == NO_DEADLINE || candidatesCount <= MIN_SAMPLE_SIZE) return candidatesCount;
+            long budget = Math.max(0, deadline - System.nanoTime()) * ForkJoinPool.getCommonPoolParallelism();
+            if (feedback != null) {
+                long affordable = budget / NANOS_PER_MATRIX_FEEDBACK / guessesCount;
+                return (int) Math.min(candidatesCount, Math.max(MIN_SAMPLE_SIZE, affordable));
+            }
+            if (candidatesCount * BATCH_MIN_CANDIDATES_SHARE >= answers.size()
+                    && budget / NANOS_PER_BATCH_FEEDBACK / guessesCount >= answers.size()) {
+                return candidatesCount; // пакетный расчет успевает по всем кандидатам
+            }
+            long affordable = budget / NANOS_PER_FEEDBACK / guessesCount;
+            return (int) Math.min(candidatesCount, Math.max(MIN_SAMPLE_SIZE, affordable));
+        }
+
+        // Догадки с номерами [from, to) делятся между потоками
+        Choice searchPhase(int from, int to) {
+            int guessesPerTask = Math.max(MIN_GUESSES_PER_TASK,
+                    (to - from) / (ForkJoinPool.getCommonPoolParallelism() * TASKS_PER_THREAD));
+            return ForkJoinPool.commonPool().invoke(new SearchTask(from, to, guessesPerTask));
+        }
+
+        private Choice searchRange(int from, int to) {
+            int wordLength = answers.getWordLength();
+            int[] histogram = new int[Feedback.valuesCount(wordLength)];
+            FeedbackBatch.Scorer scorer = batch ? answers.getFeedbackBatch().newScorer() : null;
+            int[] feedbacks = batch ? new int[answers.size()] : null;
+            Choice best = null;
+            for (int i = from; i < to && !HintStrategy.isExpired(deadline); i++) {
+                long guessCode = guessCodes[i];
+                int row = guessRows[i];
+                if (feedback != null && row >= 0) {
+                    for (int index : answerIndices) {
+                        histogram[feedback.get(row, index)]++;
+                    }
+                } else if (batch) {
+                    scorer.score(guessCode, feedbacks);
+                    for (int index : answerIndices) {
+                        histogram[feedbacks[index]]++;
+                    }
+                } else {
+                    for (long answerCode : answerCodes) {
+                        histogram[Feedback.compute(answerCode, guessCode, wordLength)]++;
+                    }
+                }
+                Choice choice = new Choice(i, cost(histogram, answerCodes.length), i < candidatesCount);
+                if (choice.isBetter(best)) {
+                    best = choice;
+                }
+                Arrays.fill(histogram, 0);
+            }
+            return best;
+        }
+
+        private class SearchTask extends RecursiveTask<Choice> {
+            private final int from;
+            private final int to;
+            private final int guessesPerTask;
+
+            SearchTask(int from, int to, int guessesPerTask) {
+                this.from = from;
+                this.to = to;
+                this.guessesPerTask = guessesPerTask;
+            }
+
+            @Override
+            protected Choice compute() {
+                if (to - from <= guessesPerTask) {
+                    return searchRange(from, to);
+                }
+                int middle = (from + to) >>> 1;
+                SearchTask right = new SearchTask(middle, to, guessesPerTask);
+                right.fork();
+                Choice left = new SearchTask(from, middle, guessesPerTask).compute();
+                Choice other = right.join();
+                return other != null && other.isBetter(left) ? other : left;
+            }
+        }
+    }
+}
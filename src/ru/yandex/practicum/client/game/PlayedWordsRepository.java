@@ -0,0 +1,133 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Сыгранные пользователями ответы: по сжатому множеству индексов слов словаря ответов на пользователя
+// (см. CompressedBitmap). Индексы имеют смысл только для словаря, по которому они записаны, поэтому в файле
+// хранится его отпечаток (WordleDictionary.contentHash); при несовпадении история начинается заново. Смена версии
+// словаря во время работы (см. DictionaryReloader) переводит историю на индексы новой версии (см. remap).
+// Формат (big-endian):
+//   int    MAGIC
+//   short  VERSION
+//   long   отпечаток словаря
+//   int    количество пользователей
+//   ...    для каждого пользователя: никнейм (DataOutput.writeUTF) и его множество (CompressedBitmap.write)
+public class PlayedWordsRepository {
+    public static final int MAGIC = 0x57504C44; // "WPLD"
+    public static final short VERSION = 1;
+    private static final String FILE_NAME_FORMAT = "played_%s_%d.bin";
+
+    private final String TAG = getClass().getSimpleName();
+    private final Logger logger;
+    private final String fileName;
+    private WordleDictionary dictionary; // версия словаря, по индексам которой записана история
+    private final Map<String, CompressedBitmap> playedWords = new ConcurrentHashMap<>();
+
+    public PlayedWordsRepository(Logger logger, String fileName, WordleDictionary dictionary) {
+        this.logger = logger;
+        this.fileName = fileName;
+        this.dictionary = dictionary;
+    }
+
+    public static String fileName(String language, int wordLength) {
+        return String.format(FILE_NAME_FORMAT, language, wordLength);
+    }
+
+    public synchronized void load() throws IOException {
+        playedWords.clear();
+        if (!new File(fileName).exists()) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException("Неизвестный формат файла сыгранных слов: " + fileName);
+            }
+            if (in.readLong() != dictionary.contentHash()) {
+                logger.log(TAG, "Словарь изменился, история сыгранных слов из " + fileName + " не используется");
+                return;
+            }
+            int usersCount = in.readInt();
+            for (int i = 0; i < usersCount; i++) {
+                String username = in.readUTF();
+                playedWords.put(username, CompressedBitmap.read(in));
+            }
+        }
+        logger.log(TAG, "Загружена история сыгранных слов, пользователей: " + playedWords.size());
+    }
+
+    // Запись во временный файл и атомарная подмена, чтобы сбой посреди записи не стер историю всех пользователей
+    public synchronized void save() throws IOException {
+        Path path = Paths.get("", fileName).toAbsolutePath();
+        Path tempPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), null);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeLong(dictionary.contentHash());
+                Map<String, CompressedBitmap> snapshot = Map.copyOf(playedWords);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, CompressedBitmap> entry : snapshot.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    entry.getValue().write(out);
+                }
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+        logger.log(TAG, "Сохранена история сыгранных слов, пользователей: " + playedWords.size());
+    }
+
+    // Переводит историю всех пользователей на индексы версии latest: сыгранные слова, оставшиеся в словаре,
+    // сохраняются, удаленные забываются. Множества меняются на месте, поэтому ссылки игр остаются верными
+    public synchronized void remap(WordleDictionary latest) {
+        if (latest == dictionary) return;
+        if (latest.contentHash() != dictionary.contentHash()) {
+            for (CompressedBitmap bitmap : playedWords.values()) {
+                remap(bitmap, dictionary, latest);
+            }
+            logger.log(TAG, "История сыгранных слов переведена на новую версию словаря, пользователей: " + playedWords.size());
+        }
+        dictionary = latest;
+    }
+
+    static void remap(CompressedBitmap bitmap, WordleDictionary previous, WordleDictionary latest) {
+        if (bitmap.isEmpty()) return;
+        int[] indices = new int[bitmap.cardinality()];
+        int count = 0;
+        for (int index = 0, size = previous.size(); index < size && count < indices.length; index++) {
+            if (!bitmap.contains(index)) continue;
+            int latestIndex = latest.indexOf(previous.codeAt(index));
+            if (latestIndex >= 0) {
+                indices[count++] = latestIndex;
+            }
+        }
+        bitmap.clear();
+        for (int i = 0; i < count; i++) {
+            bitmap.add(indices[i]);
+        }
+    }
+
+    // Множество изменяется игрой (см. WordleGameState) и попадает в файл при следующем save
+    public CompressedBitmap getPlayedWords(String username) {
+        return playedWords.computeIfAbsent(username, name -> new CompressedBitmap());
+    }
+
+    public int getUsersCount() {
+        return playedWords.size();
+    }
+
+    public long sizeInBytes() {
+        long size = 0;
+        for (CompressedBitmap bitmap : playedWords.values()) {
+            size += bitmap.sizeInBytes();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,58 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.WordCodec;
+
+import java.util.Arrays;
+
+// Коды слов словаря в отсортированном массиве. Порядок кодов совпадает с порядком слов (см. WordCodec), поэтому
+// слова с общим префиксом лежат подряд: их диапазон ищется двоичным поиском, а дальше копируются первые N кодов.
+public class PrefixIndex {
+    private final long[] codes;
+    private final int wordLength;
+
+    PrefixIndex(WordleDictionary dictionary) {
+        wordLength = dictionary.getWordLength();
+        codes = new long[dictionary.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = dictionary.codeAt(i);
+        }
+        Arrays.sort(codes);
+    }
+
+    // Записывает в out коды первых out.length слов с префиксом prefixCode из prefixLength букв, возвращает их количество
+    public int complete(long prefixCode, int prefixLength, long[] out) {
+        if (prefixLength > wordLength) return 0;
+        int position = position(firstCode(prefixCode, prefixLength));
+        long to = lastCode(prefixCode, prefixLength);
+        int count = 0;
+        while (count < out.length && position < codes.length && codes[position] <= to) {
+            out[count++] = codes[position++];
+        }
+        return count;
+    }
+
+    // Количество слов с префиксом prefixCode из prefixLength букв
+    public int count(long prefixCode, int prefixLength) {
+        if (prefixLength > wordLength) return 0;
+        return position(lastCode(prefixCode, prefixLength) + 1) - position(firstCode(prefixCode, prefixLength));
+    }
+
+    // Позиция первого кода не меньше code
+    private int position(long code) {
+        int position = Arrays.binarySearch(codes, code);
+        return position < 0 ? -position - 1 : position;
+    }
+
+    private long firstCode(long prefixCode, int prefixLength) {
+        return prefixCode << (wordLength - prefixLength) * WordCodec.LETTER_BITS;
+    }
+
+    private long lastCode(long prefixCode, int prefixLength) {
+        int freeBits = (wordLength - prefixLength) * WordCodec.LETTER_BITS;
+        return (prefixCode << freeBits) | ((1L << freeBits) - 1);
+    }
+
+    public long sizeInBytes() {
+        return (long) codes.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,11 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.exception.WordleGameEmptyWordsCollectionException;
+
+// Случайный кандидат: выбирается мгновенно и может оказаться ответом, но в среднем сужает выбор хуже остальных
+public class RandomHintStrategy implements HintStrategy {
+    @Override
+    public int suggest(WordleDictionary dictionary, CandidateSet candidates, long deadline) throws WordleGameEmptyWordsCollectionException {
+        return candidates.randomIndex();
+    }
+}
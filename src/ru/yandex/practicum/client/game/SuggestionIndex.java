@@ -0,0 +1,122 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.WordCodec;
+
+import java.util.Arrays;
+
+// Индекс "окрестностей удаления" для поиска слов на расстоянии Хэмминга до MAX_DISTANCE. Для каждого слова
+// в таблицу кладутся его коды с выколотыми MAX_DISTANCE позициями (ячейки обнуляются). Слова, отличающиеся
+// не более чем в MAX_DISTANCE позициях, совпадают хотя бы на одном таком ключе, поэтому запрос - это
+// C(длина, MAX_DISTANCE) обращений к таблице вместо обхода словаря. Коллизии хешей не страшны:
+// расстояние до каждого найденного слова все равно проверяется.
+public class SuggestionIndex {
+    public static final int MAX_DISTANCE = 2;
+    private static final int NO_ENTRY = -1;
+    private static final long LETTER_MASK = (1L << WordCodec.LETTER_BITS) - 1;
+
+    private final long[] codes;
+    private final long[] keyMasks; // маски, обнуляющие выколотые позиции
+    private final int[] heads;     // первая запись цепочки ячейки таблицы
+    private final int[] next;      // следующая запись в цепочке
+    private final int[] words;     // индекс слова записи
+    private final int tableMask;
+
+    SuggestionIndex(WordleDictionary dictionary) {
+        int size = dictionary.size();
+        codes = new long[size];
+        for (int i = 0; i < size; i++) {
+            codes[i] = dictionary.codeAt(i);
+        }
+        keyMasks = keyMasks(dictionary.getWordLength(), Math.min(MAX_DISTANCE, dictionary.getWordLength()));
+        int entries = size * keyMasks.length;
+        int capacity = Integer.highestOneBit(Math.max(entries, 1) * 2 - 1);
+        tableMask = capacity - 1;
+        heads = new int[capacity];
+        next = new int[entries];
+        words = new int[entries];
+        Arrays.fill(heads, NO_ENTRY);
+        int entry = 0;
+        for (int word = 0; word < size; word++) {
+            for (long keyMask : keyMasks) {
+                int slot = WordStore.slot(codes[word] & keyMask, tableMask);
+                words[entry] = word;
+                next[entry] = heads[slot];
+                heads[slot] = entry++;
+            }
+        }
+    }
+
+    // Записывает в out до out.length ближайших к code слов на расстоянии от 1 до maxDistance (не больше
+    // MAX_DISTANCE), ближние - первыми. Возвращает количество найденных слов; сам code в результат не попадает
+    public int findNearest(long code, int maxDistance, long[] out) {
+        int[] distances = new int[out.length];
+        int count = 0;
+        int radius = Math.min(maxDistance, MAX_DISTANCE);
+        for (long keyMask : keyMasks) {
+            long key = code & keyMask;
+            for (int entry = heads[WordStore.slot(key, tableMask)]; entry != NO_ENTRY; entry = next[entry]) {
+                long candidate = codes[words[entry]];
+                if ((candidate & keyMask) != key) continue; // коллизия хеша
+                int distance = WordCodec.hammingDistance(code, candidate);
+                if (distance > 0 && distance <= radius) {
+                    count = insertSorted(out, distances, count, candidate, distance);
+                }
+            }
+        }
+        return count;
+    }
+
+    public long sizeInBytes() {
+        return (long) codes.length * Long.BYTES + (long) (heads.length + next.length + words.length) * Integer.BYTES;
+    }
+
+    private static long[] keyMasks(int wordLength, int distance) {
+        long wordMask = -1L >>> (Long.SIZE - wordLength * WordCodec.LETTER_BITS);
+        long[] masks = new long[binomial(wordLength, distance)];
+        int count = 0;
+        // перебираем подмножества позиций размера distance как битовые маски
+        for (int positions = (1 << distance) - 1; positions < 1 << wordLength; positions = nextCombination(positions)) {
+            long mask = wordMask;
+            for (int position = 0; position < wordLength; position++) {
+                if ((positions & 1 << position) != 0) {
+                    mask &= ~(LETTER_MASK << position * WordCodec.LETTER_BITS);
+                }
+            }
+            masks[count++] = mask;
+        }
+        return masks;
+    }
+
+    // Следующее по величине число с тем же количеством единичных бит
+    private static int nextCombination(int positions) {
+        if (positions == 0) return Integer.MAX_VALUE;
+        int lowest = positions & -positions;
+        int ripple = positions + lowest;
+        return ripple | ((positions ^ ripple) >>> 2) / lowest;
+    }
+
+    private static int binomial(int n, int k) {
+        int result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    // Вставка в упорядоченные по (расстояние, код) результаты; слово могло найтись по нескольким ключам
+    private static int insertSorted(long[] out, int[] distances, int count, long code, int distance) {
+        int position = count;
+        while (position > 0 && (distances[position - 1] > distance
+                || distances[position - 1] == distance && out[position - 1] >= code)) {
+            if (out[position - 1] == code) return count;
+            position--;
+        }
+        if (position == out.length) return count;
+        int last = Math.min(count, out.length - 1);
+        System.arraycopy(out, position, out, position + 1, last - position);
+        System.arraycopy(distances, position, distances, position + 1, last - position);
+        out[position] = code;
+        distances[position] = distance;
+        return Math.min(count + 1, out.length);
+    }
+}
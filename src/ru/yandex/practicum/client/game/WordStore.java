@@ -0,0 +1,46 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.WordCodec;
+
+import java.util.function.LongConsumer;
+
+// Хранилище упакованных кодов слов (см. WordCodec). Индексы слов плотные: 0..size()-1
+interface WordStore {
+    long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    int size();
+
+    long codeAt(int index);
+
+    int indexOf(long code);
+
+    // Объем кодов и хеш-таблицы, по нему реестр словарей считает бюджет памяти
+    long sizeInBytes();
+
+    default boolean contains(long code) {
+        return indexOf(code) >= 0;
+    }
+
+    // pattern - номер буквы для каждой позиции слова, NO_LETTER - любая буква
+    default void forEachMatching(int[] pattern, LongConsumer consumer) {
+        for (int i = 0; i < size(); i++) {
+            long code = codeAt(i);
+            if (matches(code, pattern)) {
+                consumer.accept(code);
+            }
+        }
+    }
+
+    static boolean matches(long code, int[] pattern) {
+        for (int position = 0; position < pattern.length; position++) {
+            int letter = pattern[position];
+            if (letter != WordleAlphabet.NO_LETTER && WordCodec.letterAt(code, position, pattern.length) != letter) return false;
+        }
+        return true;
+    }
+
+    // Общая для всех хранилищ хеш-функция: таблица из скомпилированного файла читается без перестроения
+    static int slot(long code, int mask) {
+        return (int) ((code * HASH_MULTIPLIER) >>> Integer.SIZE) & mask;
+    }
+}
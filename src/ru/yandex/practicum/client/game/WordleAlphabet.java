@@ -0,0 +1,122 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.WordCodec;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// Отображение допустимых символов в плотные номера букв 0..size()-1 через таблицу поиска.
+// Правила свертки (регистр, ё -> е) зашиты в таблицу, поэтому проверка и нормализация слова - это
+// обращения к массиву без регулярных выражений и аллокаций.
+public class WordleAlphabet {
+    public static final int NO_LETTER = -1;
+    public static final int MAX_LETTERS = (1 << WordCodec.LETTER_BITS) - 1; // нулевая ячейка кода зарезервирована
+    public static final String RUSSIAN_VALID_CHARS_REGEX = "[А-ЯЁа-яё]+";
+
+    // символы, которые проверяются на соответствие регулярке при построении алфавита: латиница и кириллица
+    private static final char MAX_CHAR = '\u052F';
+    private static final Map<String, WordleAlphabet> ALPHABETS = new ConcurrentHashMap<>();
+
+    public static final WordleAlphabet RUSSIAN = forRegex(RUSSIAN_VALID_CHARS_REGEX);
+
+    private final String validCharsRegex;
+    private final byte[] letterIds = new byte[MAX_CHAR + 1];
+    private final char[] letters;
+
+    private WordleAlphabet(String validCharsRegex) {
+        this.validCharsRegex = validCharsRegex;
+        Pattern pattern = Pattern.compile(validCharsRegex);
+        boolean[] accepted = new boolean[MAX_CHAR + 1];
+        TreeSet<Character> folded = new TreeSet<>();
+        for (char ch = 0; ch <= MAX_CHAR; ch++) {
+            if (pattern.matcher(String.valueOf(ch)).matches()) {
+                accepted[ch] = true;
+                folded.add(fold(ch));
+            }
+        }
+        if (folded.isEmpty() || folded.size() > MAX_LETTERS) {
+            throw new IllegalArgumentException("Регулярка задает неподходящее количество букв алфавита: " + validCharsRegex);
+        }
+        letters = new char[folded.size()];
+        int id = 0;
+        for (char letter : folded) {
+            letters[id++] = letter;
+        }
+        Arrays.fill(letterIds, (byte) NO_LETTER);
+        for (char ch = 0; ch <= MAX_CHAR; ch++) {
+            if (accepted[ch]) {
+                letterIds[ch] = (byte) Arrays.binarySearch(letters, fold(ch));
+            }
+        }
+    }
+
+    public static WordleAlphabet forRegex(String validCharsRegex) {
+        return ALPHABETS.computeIfAbsent(validCharsRegex, WordleAlphabet::new);
+    }
+
+    public String getValidCharsRegex() {
+        return validCharsRegex;
+    }
+
+    public int size() {
+        return letters.length;
+    }
+
+    // Коды слов алфавитов с одинаковыми буквами совместимы, даже если регулярки различаются
+    public boolean hasSameLetters(WordleAlphabet other) {
+        return this == other || Arrays.equals(letters, other.letters);
+    }
+
+    public int letterId(char ch) {
+        return ch <= MAX_CHAR ? letterIds[ch] : NO_LETTER;
+    }
+
+    public char letter(int letterId) {
+        return letters[letterId];
+    }
+
+    public boolean isValidWord(String word) {
+        if (word == null || word.isEmpty()) return false;
+        for (int i = 0; i < word.length(); i++) {
+            if (letterId(word.charAt(i)) == NO_LETTER) return false;
+        }
+        return true;
+    }
+
+    public long encode(String word) {
+        if (word == null || word.isEmpty() || word.length() > WordCodec.MAX_WORD_LENGTH) return WordCodec.NO_CODE;
+        long code = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int id = letterId(word.charAt(i));
+            if (id == NO_LETTER) return WordCodec.NO_CODE;
+            code = WordCodec.append(code, id);
+        }
+        return code;
+    }
+
+    // В отличие от encode не сворачивает символы: слово должно быть уже нормализовано
+    public long encodeNormalized(String word) {
+        long code = encode(word);
+        if (code == WordCodec.NO_CODE) return code;
+        for (int i = 0; i < word.length(); i++) {
+            if (letters[letterId(word.charAt(i))] != word.charAt(i)) return WordCodec.NO_CODE;
+        }
+        return code;
+    }
+
+    public String decode(long code, int length) {
+        char[] word = new char[length];
+        for (int i = 0; i < length; i++) {
+            word[i] = letters[WordCodec.letterAt(code, i, length)];
+        }
+        return String.valueOf(word);
+    }
+
+    private static char fold(char ch) {
+        char lower = Character.toLowerCase(ch);
+        return lower == 'ё' ? 'е' : lower;
+    }
+}
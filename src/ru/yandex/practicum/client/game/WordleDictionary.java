@@ -1,24 +1,63 @@
 package ru.yandex.practicum.client.game;
 
 import ru.yandex.practicum.client.exception.WordleGameEmptyWordsCollectionException;
+import ru.yandex.practicum.client.util.WordCodec;
 import ru.yandex.practicum.client.util.WordUtil;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
+// Неизменяемый словарь: наполняется через WordleDictionaryBuilder или отображается из скомпилированного файла
 public class WordleDictionary {
-    private final List<String> words = new ArrayList<>();
+    public static final char ANY_LETTER = '.';
+    private static final int MAX_SAMPLE_REDRAWS = 8;
+
+    // Слова хранятся упакованными кодами (см. WordCodec), проверка наличия - O(1) по хеш-таблице хранилища
+    private final WordStore store;
     private final int wordLength;
-    private final String validCharsRegex;
+    private final WordleAlphabet alphabet;
+    // Необязательные веса слов для выбора ответа (например, частотность), null - все слова равновероятны
+    private final float[] weights;
+    private final AliasTable answerTable;
+    private final AtomicReference<LetterIndex> letterIndex = new AtomicReference<>();
+    private final AtomicReference<PrefixIndex> prefixIndex = new AtomicReference<>();
+    private final AtomicReference<SuggestionIndex> suggestionIndex = new AtomicReference<>();
+    private final AtomicReference<Long> contentHash = new AtomicReference<>();
+    private final AtomicReference<FeedbackBatch> feedbackBatch = new AtomicReference<>();
+    private final AtomicReference<long[]> letterMasks = new AtomicReference<>();
+    private final AtomicReference<Integer> openingGuess = new AtomicReference<>();
 
-    private final Random random = new Random();
+    WordleDictionary(int wordLength, WordleAlphabet alphabet, WordStore store) {
+        this(wordLength, alphabet, store, null);
+    }
 
-    public WordleDictionary(int wordLength, String validCharsRegex) {
+    WordleDictionary(int wordLength, WordleAlphabet alphabet, WordStore store, float[] weights) {
+        if (wordLength > WordCodec.MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("Слишком большая длина слова для словаря: " + wordLength);
+        }
         this.wordLength = wordLength;
-        this.validCharsRegex = validCharsRegex;
+        this.alphabet = alphabet;
+        this.store = store;
+        this.weights = weights;
+        this.answerTable = weights == null || weights.length == 0 ? null : new AliasTable(weights);
     }
 
     public Collection<String> getAll() {
-        return words;
+        return new AbstractList<>() {
+            @Override
+            public String get(int i) {
+                Objects.checkIndex(i, store.size());
+                return alphabet.decode(store.codeAt(i), wordLength);
+            }
+
+            @Override
+            public int size() {
+                return store.size();
+            }
+        };
     }
 
     public int getWordLength() {
@@ -26,44 +65,298 @@ public class WordleDictionary {
     }
 
     public String getValidCharsRegex() {
-        return validCharsRegex;
+        return alphabet.getValidCharsRegex();
+    }
+
+    public WordleAlphabet getAlphabet() {
+        return alphabet;
     }
 
     public boolean contains(String candidate) {
-        return words.contains(candidate);
+        if (candidate == null || candidate.length() != wordLength) return false;
+        return containsCode(alphabet.encodeNormalized(candidate));
     }
 
-    public boolean isEmpty() {
-        return words.isEmpty();
+    public boolean containsCode(long code) {
+        return code != WordCodec.NO_CODE && store.contains(code);
     }
 
-    public void addAll(Collection<String> words) {
-        this.words.addAll(words.stream().filter(this::isCorrectWord).map(WordUtil::normalizeWord).toList());
+    public boolean isEmpty() {
+        return store.size() == 0;
     }
 
     public boolean isCorrectWord(String word) {
-        return word != null && !word.isBlank() && word.matches(validCharsRegex) && word.length() == wordLength;
+        return word != null && word.length() == wordLength && alphabet.isValidWord(word);
+    }
+
+    // Проверка и нормализация слова одним проходом по таблице алфавита, NO_CODE - если слово не подходит словарю
+    public long encode(String word) {
+        if (word == null || word.length() != wordLength) return WordCodec.NO_CODE;
+        return alphabet.encode(word);
+    }
+
+    public String decode(long code) {
+        return alphabet.decode(code, wordLength);
+    }
+
+    public long codeAt(int index) {
+        return store.codeAt(index);
+    }
+
+    public int indexOf(long code) {
+        return code == WordCodec.NO_CODE ? -1 : store.indexOf(code);
     }
 
     public int size() {
-        return words.size();
+        return store.size();
     }
 
-    public void clear() {
-        words.clear();
+    // Вместе с уже построенными ленивыми индексами: по этому объему реестр словарей считает бюджет памяти
+    public long sizeInBytes() {
+        long bytes = store.sizeInBytes();
+        if (weights != null) {
+            bytes += (long) weights.length * Float.BYTES + answerTable.sizeInBytes();
+        }
+        long[] masks = letterMasks.get();
+        if (masks != null) {
+            bytes += (long) masks.length * Long.BYTES;
+        }
+        return bytes + sizeInBytes(letterIndex, LetterIndex::sizeInBytes) + sizeInBytes(prefixIndex, PrefixIndex::sizeInBytes)
+                + sizeInBytes(suggestionIndex, SuggestionIndex::sizeInBytes) + sizeInBytes(feedbackBatch, FeedbackBatch::sizeInBytes);
     }
 
-    public String getRandomWord() throws WordleGameEmptyWordsCollectionException {
-        return getRandomWord(false);
+    private static <T> long sizeInBytes(AtomicReference<T> holder, ToLongFunction<T> size) {
+        T index = holder.get();
+        return index == null ? 0 : size.applyAsLong(index);
     }
 
-    public String getRandomWord(boolean withRemove) throws WordleGameEmptyWordsCollectionException {
+    public String getRandomWord() throws WordleGameEmptyWordsCollectionException {
         if (isEmpty()) throw new WordleGameEmptyWordsCollectionException();
-        int index = random.nextInt(words.size());
-        if (withRemove) {
-            return words.remove(index);
-        } else {
-            return words.get(index);
+        return decode(store.codeAt(randomIndex(ThreadLocalRandom.current())));
+    }
+
+    // С учетом весов слов, если они заданы; словарь не должен быть пустым
+    public int randomIndex(Random random) {
+        return answerTable != null ? answerTable.sample(random) : random.nextInt(store.size());
+    }
+
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    public float getWeight(int index) {
+        Objects.checkIndex(index, store.size());
+        return weights != null ? weights[index] : 1;
+    }
+
+    // Словарь с теми же словами и весами: weights[i] - вес слова с индексом i
+    public WordleDictionary withWeights(float[] weights) {
+        if (weights.length != size()) {
+            throw new IllegalArgumentException("Количество весов не совпадает с количеством слов: " + weights.length);
+        }
+        return new WordleDictionary(wordLength, alphabet, store, weights.clone());
+    }
+
+    // Выборка из count разных слов вместе с их весами, например шард ответов для быстрого старта.
+    // Слова выбираются по весам; если тяжелые слова уже выбраны и выбор повторяется, выборка добирается равновероятно
+    public WordleDictionary sample(int count, Random random) {
+        int size = size();
+        if (count >= size) return this;
+        boolean[] chosen = new boolean[size];
+        WordleDictionaryBuilder shard = new WordleDictionaryBuilder(wordLength, alphabet);
+        float[] shardWeights = weights == null ? null : new float[count];
+        int picked = 0;
+        for (int attempt = 0; picked < count && attempt < count * MAX_SAMPLE_REDRAWS; attempt++) {
+            picked = pick(randomIndex(random), chosen, shard, shardWeights, picked);
+        }
+        while (picked < count) {
+            picked = pick(random.nextInt(size), chosen, shard, shardWeights, picked);
+        }
+        return shardWeights != null ? shard.build(shardWeights) : shard.build();
+    }
+
+    private int pick(int index, boolean[] chosen, WordleDictionaryBuilder shard, float[] shardWeights, int picked) {
+        if (chosen[index]) return picked;
+        chosen[index] = true;
+        shard.addCode(store.codeAt(index));
+        if (shardWeights != null) {
+            shardWeights[picked] = weights[index];
+        }
+        return picked + 1;
+    }
+
+    public LetterIndex getLetterIndex() {
+        return getIndex(letterIndex, LetterIndex::new);
+    }
+
+    public PrefixIndex getPrefixIndex() {
+        return getIndex(prefixIndex, PrefixIndex::new);
+    }
+
+    public SuggestionIndex getSuggestionIndex() {
+        return getIndex(suggestionIndex, SuggestionIndex::new);
+    }
+
+    // Маски букв всех слов (см. WordUtil.letterMask) по индексам словаря
+    public long[] getLetterMasks() {
+        return getIndex(letterMasks, WordleDictionary::computeLetterMasks);
+    }
+
+    private static long[] computeLetterMasks(WordleDictionary dictionary) {
+        long[] masks = new long[dictionary.size()];
+        for (int i = 0; i < masks.length; i++) {
+            masks[i] = WordUtil.letterMask(dictionary.codeAt(i), dictionary.wordLength);
+        }
+        return masks;
+    }
+
+    public FeedbackBatch getFeedbackBatch() {
+        return getIndex(feedbackBatch, FeedbackBatch::new);
+    }
+
+    // Индекс первой подсказки по энтропии (см. EntropyHintStrategy): пока ничего не известно, она зависит только от словаря
+    public int getOpeningGuess() {
+        return getIndex(openingGuess, EntropyHintStrategy::openingGuess);
+    }
+
+    // Первая подсказка, если уже посчитана, иначе -1
+    int peekOpeningGuess() {
+        Integer guess = openingGuess.get();
+        return guess == null ? -1 : guess;
+    }
+
+    // Отпечаток слов вместе с их индексами: данные, записанные по индексам слов (см. PlayedWordsRepository),
+    // подходят другому словарю только при совпадении отпечатков
+    public long contentHash() {
+        return getIndex(contentHash, WordleDictionary::computeContentHash);
+    }
+
+    private static long computeContentHash(WordleDictionary dictionary) {
+        long hash = dictionary.wordLength;
+        for (int i = 0; i < dictionary.size(); i++) {
+            hash = (hash ^ dictionary.codeAt(i)) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        return hash;
+    }
+
+    // Индекс строится один раз на словарь и разделяется всеми играми
+    private <T> T getIndex(AtomicReference<T> holder, Function<WordleDictionary, T> factory) {
+        T index = holder.get();
+        if (index == null) {
+            synchronized (holder) {
+                index = holder.get();
+                if (index == null) {
+                    index = factory.apply(this);
+                    holder.set(index);
+                }
+            }
+        }
+        return index;
+    }
+
+    // Дополнение префикса без выделения памяти: коды первых out.length слов с префиксом записываются в out
+    public int complete(String prefix, long[] out) {
+        long prefixCode = encodePrefix(prefix);
+        if (prefixCode == WordCodec.NO_CODE) return 0;
+        return getPrefixIndex().complete(prefixCode, prefix.length(), out);
+    }
+
+    // limit вариантов с префиксом: в словаре с весами - самые частые, при равных весах и без весов - по алфавиту
+    public List<String> complete(String prefix, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Количество вариантов не может быть отрицательным: " + limit);
+        }
+        long[] codes = new long[isWeighted() ? countCompletions(prefix) : limit];
+        int count = complete(prefix, codes);
+        if (isWeighted()) {
+            count = keepHeaviest(codes, count, limit);
+        }
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            words.add(decode(codes[i]));
+        }
+        return words;
+    }
+
+    private int countCompletions(String prefix) {
+        long prefixCode = encodePrefix(prefix);
+        if (prefixCode == WordCodec.NO_CODE) return 0;
+        return getPrefixIndex().count(prefixCode, prefix.length());
+    }
+
+    private long encodePrefix(String prefix) {
+        if (prefix == null || prefix.length() > wordLength) return WordCodec.NO_CODE;
+        return prefix.isEmpty() ? 0 : alphabet.encode(prefix);
+    }
+
+    // Переносит в начало codes limit кодов с наибольшим весом по убыванию веса; вставка устойчива, поэтому
+    // при равных весах сохраняется алфавитный порядок
+    private int keepHeaviest(long[] codes, int count, int limit) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            long code = codes[i];
+            float weight = getWeight(indexOf(code));
+            int position = kept;
+            while (position > 0 && getWeight(indexOf(codes[position - 1])) < weight) {
+                position--;
+            }
+            if (position >= limit) continue;
+            int last = Math.min(kept, limit - 1);
+            System.arraycopy(codes, position, codes, position + 1, last - position);
+            codes[position] = code;
+            kept = Math.min(kept + 1, limit);
+        }
+        return kept;
+    }
+
+    // Ближайшие по расстоянию Хэмминга слова словаря, сначала самые близкие
+    public List<String> findNearest(long code, int maxDistance, int limit) {
+        if (code == WordCodec.NO_CODE) return List.of();
+        long[] codes = new long[limit];
+        int count = getSuggestionIndex().findNearest(code, maxDistance, codes);
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            words.add(decode(codes[i]));
         }
+        return words;
+    }
+
+    // Сжатое представление (минимизированный DAWG): меньше памяти на больших словарях ценой спуска по графу
+    // вместо хеш-таблицы при поиске слова и обращении по индексу
+    public WordleDictionary toCompressed() {
+        if (store instanceof DawgWordStore) return this;
+        DawgWordStore compressed = DawgWordStore.copyOf(store, wordLength);
+        if (weights == null) return new WordleDictionary(wordLength, alphabet, compressed);
+        // в DAWG слова пронумерованы по алфавиту, веса переставляются вслед за ними
+        float[] reordered = new float[weights.length];
+        for (int i = 0; i < reordered.length; i++) {
+            reordered[i] = weights[store.indexOf(compressed.codeAt(i))];
+        }
+        return new WordleDictionary(wordLength, alphabet, compressed, reordered);
+    }
+
+    public boolean isCompressed() {
+        return store instanceof DawgWordStore;
+    }
+
+    // Слова по шаблону, где ANY_LETTER - любая буква, например "а.б.з"
+    public List<String> findMatching(String pattern) {
+        if (pattern == null || pattern.length() != wordLength) {
+            throw new IllegalArgumentException("Длина шаблона должна совпадать с длиной слов словаря: " + pattern);
+        }
+        int[] letters = new int[wordLength];
+        for (int i = 0; i < wordLength; i++) {
+            char ch = pattern.charAt(i);
+            letters[i] = ch == ANY_LETTER ? WordleAlphabet.NO_LETTER : alphabet.letterId(ch);
+            if (ch != ANY_LETTER && letters[i] == WordleAlphabet.NO_LETTER) return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        store.forEachMatching(letters, code -> words.add(decode(code)));
+        return words;
+    }
+
+    WordStore getStore() {
+        return store;
     }
 }
@@ -0,0 +1,65 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.WordCodec;
+
+import java.util.Collection;
+
+// Слова добавляются в словарь только при сборке: готовый WordleDictionary неизменяем, безопасно разделяется
+// между играми и потоками и не имеет методов, которые падали бы на отображенном в память файле
+public class WordleDictionaryBuilder {
+    private final int wordLength;
+    private final WordleAlphabet alphabet;
+    private final HeapWordStore store = new HeapWordStore();
+
+    public WordleDictionaryBuilder(int wordLength, String validCharsRegex) {
+        this(wordLength, WordleAlphabet.forRegex(validCharsRegex));
+    }
+
+    public WordleDictionaryBuilder(int wordLength, WordleAlphabet alphabet) {
+        if (wordLength > WordCodec.MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("Слишком большая длина слова для словаря: " + wordLength);
+        }
+        this.wordLength = wordLength;
+        this.alphabet = alphabet;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    // Проверка и нормализация слова, как в WordleDictionary.encode; не меняет сборку, поэтому безопасно
+    // вызывается из нескольких потоков при параллельной загрузке
+    public long encode(String word) {
+        if (word == null || word.length() != wordLength) return WordCodec.NO_CODE;
+        return alphabet.encode(word);
+    }
+
+    public WordleDictionaryBuilder addAll(Collection<String> words) {
+        for (String word : words) {
+            long code = encode(word);
+            if (code != WordCodec.NO_CODE) {
+                store.add(code);
+            }
+        }
+        return this;
+    }
+
+    // Индекс слова с кодом code: добавленного сейчас или уже бывшего в сборке
+    int addCode(long code) {
+        return store.add(code) ? store.size() - 1 : store.indexOf(code);
+    }
+
+    // Словарь получает свою копию слов, поэтому сборку можно продолжать
+    public WordleDictionary build() {
+        return new WordleDictionary(wordLength, alphabet, HeapWordStore.copyOf(store).toReadOnly());
+    }
+
+    // weights[i] - вес слова с индексом i
+    public WordleDictionary build(float[] weights) {
+        return build().withWeights(weights);
+    }
+}
@@ -0,0 +1,131 @@
+package ru.yandex.practicum.client.game;
+
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+// Компилирует текстовый словарь в бинарный файл, который WordleDictionaryLoader отображает в память.
+// Формат (big-endian):
+//   int    MAGIC
+//   short  VERSION
+//   short  длина слова
+//   int    количество слов
+//   int    размер хеш-таблицы (степень двойки)
+//   int    флаги: FLAG_WEIGHTED - после хеш-таблицы записаны веса слов (с версии 2)
+//   long   CRC32 секций данных
+//   int    длина регулярки допустимых символов в байтах, затем сама регулярка в UTF-8
+//   ...    выравнивание до 8 байт
+//   long[] коды слов (см. WordCodec)
+//   int[]  хеш-таблица: индекс слова + 1, 0 - пустая ячейка (см. WordStore.slot)
+//   float[] веса слов по индексам, если задан FLAG_WEIGHTED
+public class WordleDictionaryCompiler {
+    public static final int MAGIC = 0x57524443; // "WRDC"
+    public static final short VERSION = 2;
+    static final short VERSION_WITHOUT_FLAGS = 1;
+    static final int FLAG_WEIGHTED = 1;
+    static final int HEADER_FIXED_SIZE = 32;
+    static final int HEADER_FIXED_SIZE_WITHOUT_FLAGS = 28;
+
+    private final String TAG = getClass().getSimpleName();
+    private final Logger logger;
+
+    public WordleDictionaryCompiler(Logger logger) {
+        this.logger = logger;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4 && args.length != 5) {
+            System.out.println("Использование: <текстовый словарь> <бинарный словарь> <длина слова> <регулярка допустимых символов>"
+                    + " [размер шарда ответов для быстрого старта]");
+            return;
+        }
+        try (Logger logger = new Logger(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            int wordLength = Integer.parseInt(args[2]);
+            WordleDictionary dictionary = new WordleDictionaryLoader(logger).loadWords(args[0], wordLength, args[3]);
+            WordleDictionaryCompiler compiler = new WordleDictionaryCompiler(logger);
+            compiler.compile(dictionary, args[1]);
+            if (args.length == 5) {
+                // шард ищется рядом с текстовым словарем (см. DictionaryRegistry.getAnswerShard)
+                compiler.compile(dictionary.sample(Integer.parseInt(args[4]), new Random()),
+                        DictionaryRegistry.shardFileName(args[0], wordLength));
+            }
+        }
+    }
+
+    public void compile(WordleDictionary dictionary, String outputFile) throws IOException {
+        Path outputPath = Paths.get("", outputFile);
+        logger.log(TAG, "Компиляция словаря в файл: " + outputPath.toAbsolutePath());
+        HeapWordStore store = HeapWordStore.copyOf(dictionary.getStore());
+        int[] slots = store.getSlots();
+        byte[] regex = dictionary.getValidCharsRegex().getBytes(StandardCharsets.UTF_8);
+        int dataOffset = dataOffset(regex.length);
+
+        int weightsLength = dictionary.isWeighted() ? store.size() * Float.BYTES : 0;
+        ByteBuffer data = ByteBuffer.allocate(store.size() * Long.BYTES + slots.length * Integer.BYTES + weightsLength);
+        for (int i = 0; i < store.size(); i++) {
+            data.putLong(store.codeAt(i));
+        }
+        for (int slot : slots) {
+            data.putInt(slot);
+        }
+        if (dictionary.isWeighted()) {
+            // copyOf добавляет слова в порядке индексов словаря, поэтому индексы весов не меняются
+            for (int i = 0; i < store.size(); i++) {
+                data.putFloat(dictionary.getWeight(i));
+            }
+        }
+        data.flip();
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(dataOffset);
+        header.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) dictionary.getWordLength())
+                .putInt(store.size())
+                .putInt(slots.length)
+                .putInt(dictionary.isWeighted() ? FLAG_WEIGHTED : 0)
+                .putLong(crc.getValue())
+                .putInt(regex.length)
+                .put(regex);
+        header.clear();
+
+        // Старый файл может быть отображен в память работающими процессами: перезапись на месте обрезала бы
+        // его под ними, поэтому пишем во временный файл и атомарно подменяем (см. DictionaryReloader)
+        Path tempPath = Files.createTempFile(outputPath.toAbsolutePath().getParent(), outputPath.getFileName().toString(), null);
+        try {
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+            Files.move(tempPath, outputPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+        logger.log(TAG, "Словарь скомпилирован, слов: " + store.size());
+    }
+
+    static int dataOffset(int regexLength) {
+        return dataOffset(HEADER_FIXED_SIZE, regexLength);
+    }
+
+    static int dataOffset(int headerFixedSize, int regexLength) {
+        int headerSize = headerFixedSize + regexLength;
+        return (headerSize + Long.BYTES - 1) & -Long.BYTES;
+    }
+}
@@ -1,15 +1,34 @@
 package ru.yandex.practicum.client.game;
 
 import ru.yandex.practicum.client.util.Logger;
+import ru.yandex.practicum.client.util.WordCodec;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
 
 public class WordleDictionaryLoader {
+    private static final int CHUNK_SIZE = 256 * 1024;
+    private static final int PARSED_CHUNK_INITIAL_CAPACITY = 1024;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte WEIGHT_SEPARATOR = ' ';
+    private static final byte TAB = '\t';
+    private static final byte DECIMAL_POINT = '.';
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
     private final String TAG = getClass().getSimpleName();
     private final Logger logger;
 
@@ -18,31 +37,218 @@ public class WordleDictionaryLoader {
     }
 
     public WordleDictionary loadWords(String fileName, int wordLength, String validCharsRegex) throws IOException {
+        return loadWords(fileName, wordLength, WordleAlphabet.forRegex(validCharsRegex));
+    }
+
+    public WordleDictionary loadWords(String fileName, int wordLength, WordleAlphabet alphabet) throws IOException {
         if (wordLength < 1) throw new RuntimeException("Неверно задана длина слова для чтения из файла");
-        WordleDictionary wordleDictionary = new WordleDictionary(wordLength, validCharsRegex);
+        WordleDictionaryBuilder builder = new WordleDictionaryBuilder(wordLength, alphabet);
         File dictionaryFile = getDictionaryFile(fileName);
         logger.log(TAG, "Открыт файл словаря: " + dictionaryFile.getAbsolutePath());
-        wordleDictionary.addAll(loadWordsToList(dictionaryFile));
-        logger.log(TAG, "Словарь для игры сформирован");
-        return wordleDictionary;
+        float[] weights = loadWordsToDictionary(dictionaryFile, builder);
+        logger.log(TAG, "Словарь для игры сформирован" + (weights != null ? ", с весами слов" : ""));
+        return weights != null ? builder.build(weights) : builder.build();
+    }
+
+    // Словарь, скомпилированный WordleDictionaryCompiler, не читается целиком: запросы обслуживаются прямо
+    // из отображенного в память файла, а страницы файла разделяются между процессами через page cache
+    public WordleDictionary mapCompiledWords(String fileName, boolean verifyChecksum) throws IOException {
+        File dictionaryFile = getDictionaryFile(fileName);
+        logger.log(TAG, "Отображаем в память скомпилированный словарь: " + dictionaryFile.getAbsolutePath());
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(dictionaryFile.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < WordleDictionaryCompiler.HEADER_FIXED_SIZE_WITHOUT_FLAGS || buffer.getInt() != WordleDictionaryCompiler.MAGIC) {
+            throw new IOException("Файл не является скомпилированным словарем: " + fileName);
+        }
+        short version = buffer.getShort();
+        boolean hasFlags = version == WordleDictionaryCompiler.VERSION;
+        if (!hasFlags && version != WordleDictionaryCompiler.VERSION_WITHOUT_FLAGS) {
+            throw new IOException("Неподдерживаемая версия скомпилированного словаря: " + version);
+        }
+        int headerFixedSize = hasFlags ? WordleDictionaryCompiler.HEADER_FIXED_SIZE : WordleDictionaryCompiler.HEADER_FIXED_SIZE_WITHOUT_FLAGS;
+        if (buffer.limit() < headerFixedSize) throw corruptedHeader(fileName);
+        int wordLength = buffer.getShort();
+        int wordsCount = buffer.getInt();
+        int tableCapacity = buffer.getInt();
+        int flags = hasFlags ? buffer.getInt() : 0;
+        long checksum = buffer.getLong();
+        int regexLength = buffer.getInt();
+        // в таблице должна остаться пустая ячейка, иначе поиск отсутствующего слова не остановится
+        if (wordLength < 1 || wordLength > WordCodec.MAX_WORD_LENGTH || wordsCount < 0 || wordsCount >= tableCapacity
+                || Integer.bitCount(tableCapacity) != 1 || regexLength < 0 || regexLength > buffer.remaining()) {
+            throw corruptedHeader(fileName);
+        }
+        byte[] regex = new byte[regexLength];
+        buffer.get(regex);
+        // смещения считаются в long: счетчики из заголовка не должны переполнить int и обойти проверку размера
+        long codesOffset = WordleDictionaryCompiler.dataOffset(headerFixedSize, regexLength);
+        long slotsOffset = codesOffset + (long) wordsCount * Long.BYTES;
+        long weightsOffset = slotsOffset + (long) tableCapacity * Integer.BYTES;
+        boolean isWeighted = (flags & WordleDictionaryCompiler.FLAG_WEIGHTED) != 0;
+        long dataEnd = weightsOffset + (isWeighted ? (long) wordsCount * Float.BYTES : 0);
+        if (buffer.limit() != dataEnd) throw corruptedHeader(fileName);
+        int dataLength = (int) (dataEnd - codesOffset);
+        if (verifyChecksum) {
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice((int) codesOffset, dataLength));
+            if (crc.getValue() != checksum) {
+                throw new IOException("Не совпадает контрольная сумма скомпилированного словаря: " + fileName);
+            }
+        }
+        ByteBuffer codes = buffer.slice((int) codesOffset, wordsCount * Long.BYTES);
+        ByteBuffer slots = buffer.slice((int) slotsOffset, tableCapacity * Integer.BYTES);
+        float[] weights = null;
+        if (isWeighted) {
+            // веса нужны целиком для таблиц выбора ответа, поэтому копируются в память
+            weights = new float[wordsCount];
+            buffer.slice((int) weightsOffset, wordsCount * Float.BYTES).asFloatBuffer().get(weights);
+        }
+        WordleDictionary dictionary = new WordleDictionary(wordLength, WordleAlphabet.forRegex(new String(regex, StandardCharsets.UTF_8)),
+                new BufferWordStore(codes.asLongBuffer(), slots.asIntBuffer()), weights);
+        logger.log(TAG, "Скомпилированный словарь подключен, слов: " + dictionary.size());
+        return dictionary;
+    }
+
+    private static IOException corruptedHeader(String fileName) {
+        return new IOException("Поврежден заголовок скомпилированного словаря: " + fileName);
     }
 
-    private List<String> loadWordsToList(File wordsFile) throws IOException {
+    // Файл читается через FileChannel крупными блоками, разрезанными по границам строк. Разбор блоков
+    // (декодирование, проверка и нормализация слов) идет параллельно, а их коды добавляются в словарь
+    // в порядке следования блоков в файле.
+    // Строка - слово и, через пробел или табуляцию, необязательный вес (частотность). Веса повторов слова
+    // (в том числе после нормализации) складываются, слово без веса весит 1. Возвращает веса по индексам
+    // слов словаря или null, если в файле нет ни одного веса.
+    private float[] loadWordsToDictionary(File wordsFile, WordleDictionaryBuilder dictionary) throws IOException {
         logger.log(TAG, "Загружаем слова из файла");
-        List<String> words = new ArrayList<>();
-        try (
-                FileReader fileReader = new FileReader(wordsFile, StandardCharsets.UTF_8);
-                BufferedReader wordsReader = new BufferedReader(fileReader)
-        ) {
-            while (wordsReader.ready()) {
-                words.add(wordsReader.readLine());
-            }
-            logger.log(TAG, "Прочитано слов из файла: " + words.size());
+        List<Future<ParsedChunk>> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(wordsFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+            boolean isFirstChunk = true;
+            while (channel.read(buffer) != -1 || buffer.position() > 0) {
+                buffer.flip();
+                int chunkEnd = lastLineEnd(buffer);
+                if (chunkEnd == 0) {
+                    if (buffer.limit() == buffer.capacity()) {
+                        buffer = growBuffer(buffer);
+                        continue;
+                    }
+                    chunkEnd = buffer.limit(); // последняя строка без перевода строки
+                }
+                byte[] chunk = new byte[chunkEnd];
+                buffer.get(chunk);
+                int chunkStart = isFirstChunk && startsWithBom(chunk) ? UTF8_BOM.length : 0;
+                isFirstChunk = false;
+                chunks.add(ForkJoinPool.commonPool().submit(() -> parseChunk(chunk, chunkStart, dictionary)));
+                buffer.compact();
+            }
+            int linesCount = 0;
+            boolean isWeighted = false;
+            float[] weights = new float[PARSED_CHUNK_INITIAL_CAPACITY];
+            for (Future<ParsedChunk> chunk : chunks) {
+                ParsedChunk parsed = chunk.get();
+                linesCount += parsed.linesCount;
+                isWeighted |= parsed.isWeighted;
+                for (int i = 0; i < parsed.codesCount; i++) {
+                    int index = dictionary.addCode(parsed.codes[i]);
+                    if (index == weights.length) {
+                        weights = Arrays.copyOf(weights, index * 2);
+                    }
+                    weights[index] += parsed.weights[i];
+                }
+            }
+            logger.log(TAG, "Прочитано слов из файла: " + linesCount);
+            return isWeighted ? Arrays.copyOf(weights, dictionary.size()) : null;
         } catch (IOException e) {
             logger.log(TAG, "Ошибка чтения файла");
             throw e;
+        } catch (InterruptedException | ExecutionException e) {
+            logger.log(TAG, "Ошибка разбора файла");
+            throw new IOException(e);
+        }
+    }
+
+    private static ParsedChunk parseChunk(byte[] chunk, int start, WordleDictionaryBuilder dictionary) {
+        ParsedChunk parsed = new ParsedChunk();
+        int wordLength = dictionary.getWordLength();
+        int lineStart = start;
+        while (lineStart < chunk.length) {
+            int lineEnd = lineStart;
+            int charsCount = 0;
+            int separator = -1;
+            while (lineEnd < chunk.length && chunk[lineEnd] != LINE_FEED) {
+                if (separator < 0 && (chunk[lineEnd] == WEIGHT_SEPARATOR || chunk[lineEnd] == TAB)) {
+                    separator = lineEnd;
+                }
+                // продолжения многобайтовых символов UTF-8 имеют вид 10xxxxxx и не считаются отдельными символами
+                if (separator < 0 && (chunk[lineEnd] & 0xC0) != 0x80) {
+                    charsCount++;
+                }
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && chunk[lineEnd - 1] == CARRIAGE_RETURN ? lineEnd - 1 : lineEnd;
+            int wordEnd = separator < 0 ? contentEnd : separator;
+            if (separator < 0 && contentEnd < lineEnd) {
+                charsCount--;
+            }
+            parsed.linesCount++;
+            // строки другой длины отбрасываются без декодирования
+            float weight = separator < 0 ? 1 : parseWeight(chunk, separator + 1, contentEnd);
+            if (charsCount == wordLength && weight >= 0) {
+                long code = dictionary.encode(new String(chunk, lineStart, wordEnd - lineStart, StandardCharsets.UTF_8));
+                if (code != WordCodec.NO_CODE) {
+                    parsed.add(code, weight);
+                    parsed.isWeighted |= separator >= 0;
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return parsed;
+    }
+
+    // Неотрицательное десятичное число из ASCII-цифр с необязательной дробной частью, -1 - если это не число
+    private static float parseWeight(byte[] chunk, int from, int to) {
+        while (from < to && (chunk[from] == WEIGHT_SEPARATOR || chunk[from] == TAB)) {
+            from++;
+        }
+        if (from == to) return -1;
+        double weight = 0;
+        double scale = 0;
+        for (int i = from; i < to; i++) {
+            byte b = chunk[i];
+            if (b == DECIMAL_POINT && scale == 0) {
+                scale = 1;
+            } else if (b >= '0' && b <= '9') {
+                if (scale == 0) {
+                    weight = weight * 10 + (b - '0');
+                } else {
+                    scale /= 10;
+                    weight += (b - '0') * scale;
+                }
+            } else {
+                return -1;
+            }
+        }
+        return (float) weight;
+    }
+
+    private static int lastLineEnd(ByteBuffer buffer) {
+        for (int i = buffer.limit() - 1; i >= 0; i--) {
+            if (buffer.get(i) == LINE_FEED) return i + 1;
         }
-        return words;
+        return 0;
+    }
+
+    private static ByteBuffer growBuffer(ByteBuffer buffer) {
+        ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+        grown.put(buffer);
+        return grown;
+    }
+
+    private static boolean startsWithBom(byte[] chunk) {
+        return chunk.length >= UTF8_BOM.length && Arrays.equals(chunk, 0, UTF8_BOM.length, UTF8_BOM, 0, UTF8_BOM.length);
     }
 
     private File getDictionaryFile(String dictionaryFile) throws FileNotFoundException {
@@ -55,4 +261,21 @@ public class WordleDictionaryLoader {
         }
         return wordsFile;
     }
+
+    private static class ParsedChunk {
+        private long[] codes = new long[PARSED_CHUNK_INITIAL_CAPACITY];
+        private float[] weights = new float[PARSED_CHUNK_INITIAL_CAPACITY];
+        private int codesCount;
+        private int linesCount;
+        private boolean isWeighted;
+
+        private void add(long code, float weight) {
+            if (codesCount == codes.length) {
+                codes = Arrays.copyOf(codes, codesCount * 2);
+                weights = Arrays.copyOf(weights, codesCount * 2);
+            }
+            weights[codesCount] = weight;
+            codes[codesCount++] = code;
+        }
+    }
 }
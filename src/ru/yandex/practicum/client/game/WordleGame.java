@@ -3,32 +3,55 @@ package ru.yandex.practicum.client.game;
 import ru.yandex.practicum.client.util.Logger;
 import ru.yandex.practicum.client.exception.*;
 
+import ru.yandex.practicum.client.util.WordCodec;
+import ru.yandex.practicum.client.util.WordUtil;
+
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static ru.yandex.practicum.client.util.WordUtil.normalizeWord;
-import static ru.yandex.practicum.client.util.WordUtil.wordHasLettersInPlace;
-import static ru.yandex.practicum.client.util.WordUtil.wordHasAllLetters;
-import static ru.yandex.practicum.client.util.WordUtil.wordHasAnyLetter;
 
 public class WordleGame {
-    private static final char NOT_IN_WORD_MASK = '-';
-    private static final char WRONG_PLACE_MASK = '^';
-    private static final char RIGHT_PLACE_MASK = '+';
+    private static final int SUGGESTIONS_MAX_DISTANCE = 2;
+    private static final int SUGGESTIONS_LIMIT = 3;
 
     private final String TAG = getClass().getSimpleName();
     private final WordleGameState state;
     private final Logger logger;
 
-    public static final int WORD_LENGTH = 5;
     public static final int MAX_STEPS = 6;
+    public static final long NO_BUDGET = -1;
+    private static final HintStrategy DEFAULT_HINT_STRATEGY = new RandomHintStrategy();
 
     public WordleGame(Logger logger, WordleDictionary dictionary) {
+        this(logger, new WordleGameState(dictionary));
+    }
+
+    public WordleGame(Logger logger, Supplier<WordleDictionary> dictionarySource) {
+        this(logger, new WordleGameState(dictionarySource));
+    }
+
+    // Загадываются и подсказываются только слова answers, а попыткой можно ввести любое слово allowedGuesses
+    public WordleGame(Logger logger, WordleDictionary answers, WordleDictionary allowedGuesses) {
+        this(logger, new WordleGameState(answers, allowedGuesses));
+    }
+
+    public WordleGame(Logger logger, Supplier<WordleDictionary> answersSource, Supplier<WordleDictionary> allowedGuessesSource) {
+        this(logger, new WordleGameState(answersSource, allowedGuessesSource));
+    }
+
+    private WordleGame(Logger logger, WordleGameState state) {
         this.logger = logger;
-        this.state = new WordleGameState(dictionary);
-        logger.log(TAG, "В словарь игры загружено " + dictionary.size() + " слов");
+        this.state = state;
+        logger.log(TAG, "В словарь игры загружено " + state.getGameDictionary().size() + " слов");
         reset();
     }
 
+    public int getWordLength() {
+        return state.getGameDictionary().getWordLength();
+    }
+
     public String getAnswer() {
         return state.getAnswer();
     }
@@ -37,13 +60,41 @@ public class WordleGame {
         logger.log(TAG, "Принудительная установка правильного ответа на: " + answer);
         if (answer == null) return;
         reset();
-        String normalizedAnswer = normalizeWord(answer); // we don't need to check there length and else,
+        WordleDictionary gameDictionary = state.getGameDictionary();
+        long answerCode = gameDictionary.encode(answer); // we don't need to check there length and else,
                                                          // because we'll just look up for it in the dictionary.
-        if(!state.getGameDictionary().contains(normalizedAnswer)) throw new WordleGameWordNotFoundInDictionary(normalizedAnswer);
+        if (!gameDictionary.containsCode(answerCode)) throw new WordleGameWordNotFoundInDictionary(normalizeWord(answer));
+        String normalizedAnswer = gameDictionary.decode(answerCode);
         state.setAnswer(normalizedAnswer);
         logger.log(TAG, "Принудительный ответ установлен: " + normalizedAnswer);
     }
 
+    // Ответы берутся только из еще не сыгранных пользователем слов; множество пополняется каждой новой игрой
+    public void setPlayedWords(PlayedWordsRepository repository, String username) throws WordleGameEmptyWordsCollectionException {
+        state.setPlayedWords(repository, username);
+        logger.log(TAG, "Установлена история игрока, сыграно слов: " + repository.getPlayedWords(username).cardinality());
+        reset();
+    }
+
+    // Подсказки читают ответы из матрицы (см. DictionaryRegistry.getFeedbackMatrix), пока она подходит словарям игры
+    public void setFeedbackMatrix(FeedbackMatrix feedbackMatrix) {
+        logger.log(TAG, "Установлена матрица ответов: " + (feedbackMatrix == null ? "нет"
+                : feedbackMatrix.getGuessesCount() + "x" + feedbackMatrix.getAnswersCount()));
+        state.setFeedbackMatrix(feedbackMatrix);
+    }
+
+    // Ответы выбираются из слов заданного уровня сложности (см. DifficultyAnalyzer)
+    public void setDifficulty(DifficultyStats difficultyStats, DifficultyTiers.Difficulty difficulty)
+            throws WordleGameEmptyWordsCollectionException {
+        logger.log(TAG, "Установлен уровень сложности: " + difficulty);
+        state.setDifficulty(difficultyStats, difficulty);
+        reset();
+    }
+
+    public List<String> complete(String prefix, int limit) {
+        return state.getGuessDictionary().complete(prefix, limit);
+    }
+
     public boolean hasUsedHint() {
         return state.hasUsedHint();
     }
@@ -69,17 +120,23 @@ public class WordleGame {
 
     public String checkWord(String rawCandidate) throws WordleGameNoAttemptsLeftException, WordleGameWrongWordLengthException,
             WordleGameIncorrectWordException, WordleGameWordNotFoundInDictionary {
+        int feedback = checkWordFeedback(rawCandidate);
+        String pattern = Feedback.render(feedback, getWordLength());
+        return feedback == Feedback.solved(getWordLength()) ? pattern + " слово отгадано" : pattern;
+    }
+
+    // Ответ на слово числом (см. Feedback) - для решателей и сервера, которым строка "+^-" не нужна
+    public int checkWordFeedback(String rawCandidate) throws WordleGameNoAttemptsLeftException, WordleGameWrongWordLengthException,
+            WordleGameIncorrectWordException, WordleGameWordNotFoundInDictionary {
         logger.log(TAG, "Проверка введенного слова: " + rawCandidate);
         if (rawCandidate == null) throw new WordleGameIncorrectWordException(null);
         throwIfNoAttemptsLeft();
-        String candidate = normalizeWord(rawCandidate);
-        validateWord(candidate);
+        long candidateCode = validateWord(rawCandidate);
         state.increaseUsedAttempts();
-        state.setLastWord(candidate);
-        if (candidate.equalsIgnoreCase(state.getAnswer())) {
+        if (candidateCode == state.getAnswerCode()) {
             logger.log(TAG, "Слово отгадано");
             state.setGameProgressState(WordleGameState.GameProgressState.WIN);
-            return "+++++ слово отгадано";
+            return Feedback.solved(getWordLength());
         }
         if (state.getUsedAttempts() == MAX_STEPS) {
             logger.log(TAG, "Закончились попытки");
@@ -87,132 +144,119 @@ public class WordleGame {
         }
 
         logger.log(TAG, "Слово не отгадано, осталось попыток: " + (MAX_STEPS - state.getUsedAttempts()));
-        return getCandidatePattern(candidate);
+        int feedback = getFeedback(candidateCode);
+        applyFeedback(candidateCode, feedback);
+        return feedback;
     }
 
     public String guessWord() throws WordleGameEmptyWordsCollectionException, WordleGameNoAttemptsLeftException {
-        logger.log(TAG, "Поиск подсказки");
+        return guessWord(DEFAULT_HINT_STRATEGY, NO_BUDGET);
+    }
+
+    // Кандидаты уже отсечены по всем проверенным словам (см. checkWordFeedback), стратегия выбирает подсказку по ним
+    // за budgetMillis (NO_BUDGET - без ограничения); подсказка может и не быть кандидатом и даже загадываемым словом
+    public String guessWord(HintStrategy strategy, long budgetMillis) throws WordleGameEmptyWordsCollectionException,
+            WordleGameNoAttemptsLeftException {
+        logger.log(TAG, "Поиск подсказки: " + strategy.getClass().getSimpleName());
+        long deadline = budgetMillis == NO_BUDGET ? HintStrategy.NO_DEADLINE
+                : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        CandidateSet leftWords = getHintCandidates();
+        WordleDictionary gameDictionary = state.getGameDictionary();
+        long hint = strategy.suggestCode(gameDictionary, leftWords, state.getGuessDictionary(), deadline, state.getFeedbackMatrix());
+        String guessedWord = gameDictionary.decode(hint);
+        logger.log(TAG, "Найдена подсказка из " + leftWords.size() + " подходящих слов: " + guessedWord);
+        return guessedWord;
+    }
+
+    private CandidateSet getHintCandidates() throws WordleGameNoAttemptsLeftException {
         throwIfNoAttemptsLeft();
         state.setHasUsedHint(true);
-        WordleDictionary leftWords = state.getLeftWords();
-        String candidate = normalizeWord(state.getLastWord());
-        String candidatePattern = getCandidatePattern(candidate);
-        String guessedWord;
-        if (candidatePattern.isEmpty()) {
-            guessedWord = leftWords.getRandomWord(true);
-            logger.log(TAG, "Пользователь еще не вводил слова, подсказываем первое попавшееся слово: " + guessedWord);
-            state.setLastWord(guessedWord);
-            return guessedWord;
+        CandidateSet leftWords = state.getLeftWords();
+        if (leftWords.isEmpty()) {
+            GuessConstraints constraints = state.getConstraints();
+            WordleAlphabet alphabet = state.getGameDictionary().getAlphabet();
+            throw new WordleEmptyCandidatesException(letters(alphabet, constraints.getAbsentLetters()),
+                    letters(alphabet, constraints.getRequiredLetters()), placedLetters(alphabet, constraints.getPlaced()));
         }
-        for (int c = 0; c < candidate.length(); c++) {
-            switch (candidatePattern.charAt(c)) {
-                case NOT_IN_WORD_MASK:
-                    // обрабатывается отдельно из-за возможного пересечения с WRONG_PLACE_MASK (см. getCandidatePattern)
-                    break;
-                case WRONG_PLACE_MASK:
-                    state.getMaybeLetters().add(candidate.charAt(c));
-                    break;
-                case RIGHT_PLACE_MASK:
-                    state.getOkLetters().set(c, candidate.charAt(c));
-                    break;
-                default:
-                    throw new RuntimeException("Неизвестный символ в паттерне слова: " + candidatePattern.charAt(c));
+        return leftWords;
+    }
+
+    // Каждая проверка сразу сужает кандидатов, поэтому работа делится между ходами, а не копится к подсказке
+    private void applyFeedback(long candidateCode, int feedback) {
+        GuessConstraints constraints = state.getConstraints();
+        constraints.apply(candidateCode, feedback);
+        WordleDictionary gameDictionary = state.getGameDictionary();
+        CandidateSet leftWords = state.getLeftWords();
+        // ответ меняет знания только о буквах догадки, и почти все они - множества слов индекса букв: зеленая
+        // буква оставляет слова с ней на этой позиции, желтая и серая убирают их, а наличие и отсутствие буквы
+        // в слове - пословные AND / ANDNOT по всему слову
+        LetterIndex letterIndex = gameDictionary.getLetterIndex();
+        int wordLength = gameDictionary.getWordLength();
+        for (int position = 0; position < wordLength; position++) {
+            long[] words = letterIndex.wordsWithLetterAt(position, WordCodec.letterAt(candidateCode, position, wordLength));
+            if (Feedback.digitAt(feedback, position, wordLength) == Feedback.RIGHT_PLACE) {
+                leftWords.retainAll(words);
+            } else {
+                leftWords.removeAll(words);
             }
         }
-        Set<Character> allLetters = new HashSet<>(state.getMaybeLetters());
-        for (Character c : state.getOkLetters()) {
-            if (c != null) {
-                allLetters.add(c);
-            }
+        long guessLetters = WordUtil.letterMask(candidateCode, wordLength);
+        for (long rest = guessLetters & constraints.getRequiredLetters(); rest != 0; rest &= rest - 1) {
+            leftWords.retainAll(letterIndex.wordsWithLetter(Long.numberOfTrailingZeros(rest)));
         }
-        for (int i = 0; i < candidate.length(); i++) {
-            char ch = candidate.charAt(i);
-            if (!allLetters.contains(ch)) {
-                state.getSkipLetters().add(ch);
-            }
+        for (long rest = guessLetters & constraints.getAbsentLetters(); rest != 0; rest &= rest - 1) {
+            leftWords.removeAll(letterIndex.wordsWithLetter(Long.numberOfTrailingZeros(rest)));
         }
-
-        List<String> nextWords = new ArrayList<>();
-        for (String word : leftWords.getAll()) {
-            if (!state.getSkipLetters().isEmpty() && wordHasAnyLetter(word, state.getSkipLetters()) > 0) { //не содержит неправильных букв
-                throwIfEqualToAnswer(word);
-                continue;
+        // количество буквы индексом не выражается - оставшиеся слова сверяются со всеми знаниями (см.
+        // GuessConstraints.matches), а маски букв слов отсекают большинство из них без разбора кода
+        if ((guessLetters & constraints.getCountedLetters()) != 0) {
+            long[] letterMasks = gameDictionary.getLetterMasks();
+            for (int index = leftWords.nextIndex(0); index >= 0; index = leftWords.nextIndex(index + 1)) {
+                if (!constraints.matches(gameDictionary.codeAt(index), letterMasks[index])) {
+                    leftWords.remove(index);
+                }
             }
-            if (!allLetters.isEmpty() && !wordHasAllLetters(word, allLetters)) { //содержит правильные буквы по максимуму
-                throwIfEqualToAnswer(word);
-                continue;
-            }
-            if (!wordHasLettersInPlace(word, state.getOkLetters())) {
-                throwIfEqualToAnswer(word);
-                continue;
-            }
-            nextWords.add(word);
         }
-        leftWords.clear();
-        leftWords.addAll(nextWords);
-        if (nextWords.isEmpty()) {
-            throw new WordleEmptyCandidatesException(state.getSkipLetters(), state.getMaybeLetters(), state.getOkLetters());
+        if (!leftWords.contains(state.getAnswerIndex())) {
+            throw new RuntimeException("Ошибочно удален верный ответ " + getAnswer());
         }
-        guessedWord = leftWords.getRandomWord(true);
-        logger.log(TAG, "Найдена подсказка, на основе имеющихся знаний: " + guessedWord);
-        state.setLastWord(guessedWord);
-        return guessedWord;
     }
 
-    private void throwIfEqualToAnswer(String word) {
-        if (word.equals(getAnswer())) {
-            throw new RuntimeException("Ошибочно удален верный ответ " + getAnswer());
+    private static String letters(WordleAlphabet alphabet, long letterMask) {
+        StringBuilder letters = new StringBuilder();
+        for (long rest = letterMask; rest != 0; rest &= rest - 1) {
+            letters.append(alphabet.letter(Long.numberOfTrailingZeros(rest)));
         }
+        return letters.toString();
     }
 
-    private void validateWord(String candidate) throws WordleGameWrongWordLengthException,
-            WordleGameIncorrectWordException, WordleGameWordNotFoundInDictionary {
-        WordleDictionary gameDictionary = state.getGameDictionary();
-        if (candidate.length() != WORD_LENGTH) {
-            throw new WordleGameWrongWordLengthException(candidate);
-        }
-        if (!gameDictionary.isCorrectWord(candidate)) {
-            throw new WordleGameIncorrectWordException(candidate);
-        }
-        if (!gameDictionary.contains(candidate)) {
-            throw new WordleGameWordNotFoundInDictionary(candidate);
+    private static String placedLetters(WordleAlphabet alphabet, int[] letterIds) {
+        StringBuilder letters = new StringBuilder();
+        for (int letterId : letterIds) {
+            letters.append(letterId == WordleAlphabet.NO_LETTER ? '_' : alphabet.letter(letterId));
         }
+        return letters.toString();
     }
 
-    private String getCandidatePattern(String candidate) {
-        String answer = getAnswer();
-        Map<Character, Integer> charsCount = new HashMap<>();
-        char[] wordPattern = new char[WORD_LENGTH];
-        for (int i = 0; i < answer.length(); i++) {
-            char ch = answer.charAt(i);
-            if (charsCount.containsKey(ch)) {
-                charsCount.put(ch, charsCount.get(ch) + 1);
-            } else {
-                charsCount.put(ch, 1);
-            }
+    private long validateWord(String rawCandidate) throws WordleGameWrongWordLengthException,
+            WordleGameIncorrectWordException, WordleGameWordNotFoundInDictionary {
+        WordleDictionary gameDictionary = state.getGameDictionary();
+        if (rawCandidate.length() != gameDictionary.getWordLength()) {
+            throw new WordleGameWrongWordLengthException(normalizeWord(rawCandidate));
         }
-        for (int c = 0; c < candidate.length(); c++) {
-            char candidateChar = candidate.charAt(c);
-            if (answer.charAt(c) == candidateChar) {
-                wordPattern[c] = RIGHT_PLACE_MASK;
-                charsCount.put(candidateChar, charsCount.get(candidateChar) - 1);
-            } else if (charsCount.getOrDefault(candidateChar, 0) == 0) {
-                // В оригинальной wordle подсвечивается только то, количество букв, которое действительно содержится в слове.
-                // Например, загадано слово "trail", тогда при вводе "teRra" подсветит только первую букву R!
-                wordPattern[c] = NOT_IN_WORD_MASK;
-            }
+        long candidateCode = gameDictionary.encode(rawCandidate);
+        if (candidateCode == WordCodec.NO_CODE) {
+            throw new WordleGameIncorrectWordException(normalizeWord(rawCandidate));
         }
-        for (int c = 0; c < candidate.length(); c++) {
-            char candidateChar = candidate.charAt(c);
-            if (charsCount.getOrDefault(candidateChar, 0) != 0) {
-                wordPattern[c] = WRONG_PLACE_MASK;
-                charsCount.put(candidateChar, charsCount.get(candidateChar) - 1);
-            } else if (wordPattern[c] == 0) {
-                wordPattern[c] = NOT_IN_WORD_MASK;
-            }
+        if (!state.isAllowedGuess(candidateCode)) {
+            throw new WordleGameWordNotFoundInDictionary(gameDictionary.decode(candidateCode),
+                    state.getGuessDictionary().findNearest(candidateCode, SUGGESTIONS_MAX_DISTANCE, SUGGESTIONS_LIMIT));
         }
+        return candidateCode;
+    }
 
-        return String.valueOf(wordPattern);
+    private int getFeedback(long candidateCode) {
+        return Feedback.compute(state.getAnswerCode(), candidateCode, getWordLength());
     }
 
     private void throwIfNoAttemptsLeft() throws WordleGameNoAttemptsLeftException {
@@ -3,63 +3,240 @@ package ru.yandex.practicum.client.game;
 import ru.yandex.practicum.client.exception.WordleGameEmptyWordsCollectionException;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 public class WordleGameState {
+    private static final int MAX_WEIGHTED_REDRAWS = 8;
+    private static final int MAX_UNPLAYED_REDRAWS = 8;
+
     private String answer;
-    private String lastWord = "";
+    private long answerCode;
+    private int answerIndex;
     private int usedAttempts;
     private boolean hasUsedHint;
     private GameProgressState gameProgressState;
-    private final WordleDictionary gameDictionary;
-    private final WordleDictionary leftWords;
-    private final Set<Character> skipLetters = new HashSet<>();
-    private final Set<Character> maybeLetters = new HashSet<>();
-    private final List<Character> okLetters = new ArrayList<>();
+    private final Supplier<WordleDictionary> dictionarySource;
+    private final Supplier<WordleDictionary> guessDictionarySource;
+    // ответы и подсказки выбираются из gameDictionary, а догадки принимаются и по guessDictionary
+    private WordleDictionary gameDictionary;
+    private WordleDictionary guessDictionary; // null - берется из источника при первом обращении
+    private CandidateSet leftWords;
+    private PlayedWordsRepository playedWordsRepository;
+    private CompressedBitmap playedWords; // сыгранные пользователем ответы, null - повторы не отслеживаются
+    // статистика хранится по кодам слов и переживает смену версии словаря, а уровни строятся по его индексам
+    private DifficultyStats difficultyStats;
+    private DifficultyTiers.Difficulty difficulty;
+    private DifficultyTiers difficultyTiers; // null - ответы выбираются без учета сложности
+    private GuessConstraints constraints; // знания по всем проверенным словам игры, leftWords им соответствует
+    private FeedbackMatrix feedbackMatrix; // null - подсказки считают ответы сами
+
+    private final Random random = new Random();
 
     public WordleGameState(WordleDictionary dictionary) {
-        gameDictionary = dictionary;
-        leftWords = new WordleDictionary(dictionary.getWordLength(), dictionary.getValidCharsRegex());
+        this(pinned(dictionary));
+    }
+
+    public WordleGameState(WordleDictionary answerDictionary, WordleDictionary guessDictionary) {
+        this(pinned(answerDictionary), pinned(guessDictionary));
+    }
+
+    public WordleGameState(Supplier<WordleDictionary> dictionarySource) {
+        this(dictionarySource, dictionarySource);
+    }
+
+    // Источник может подменять словарь (см. DictionaryReloader), игра берет актуальную версию только при сбросе
+    public WordleGameState(Supplier<WordleDictionary> dictionarySource, Supplier<WordleDictionary> guessDictionarySource) {
+        this.dictionarySource = dictionarySource;
+        this.guessDictionarySource = guessDictionarySource;
+        gameDictionary = dictionarySource.get();
+        leftWords = new CandidateSet(gameDictionary.size());
+    }
+
+    private static Supplier<WordleDictionary> pinned(WordleDictionary dictionary) {
+        return () -> dictionary;
+    }
+
+    // Словарь догадок может еще загружаться (см. BackgroundDictionary), поэтому его ждет только первая проверка
+    // слова не из словаря ответов или подсказка, а не старт игры
+    private WordleDictionary pinGuessDictionary() {
+        if (guessDictionarySource == dictionarySource) return gameDictionary;
+        WordleDictionary guesses = guessDictionarySource.get();
+        if (guesses.getWordLength() != gameDictionary.getWordLength() || !guesses.getAlphabet().hasSameLetters(gameDictionary.getAlphabet())) {
+            throw new IllegalArgumentException("Словари ответов и допустимых слов должны совпадать по длине слов и алфавиту");
+        }
+        return guesses;
     }
 
     public void reset() throws WordleGameEmptyWordsCollectionException {
-        lastWord = "";
         usedAttempts = 0;
         hasUsedHint = false;
         gameProgressState = GameProgressState.PLAY;
-        leftWords.clear();
-        skipLetters.clear();
-        maybeLetters.clear();
-        okLetters.clear();
-        okLetters.addAll(Arrays.asList(new Character[gameDictionary.getWordLength()]));
-        leftWords.addAll(gameDictionary.getAll());
-        if (answer != null && leftWords.size() > 1) {
-            String oldAnswer = answer;
-            do {
-                answer = leftWords.getRandomWord();
-            } while (oldAnswer.equals(answer));
+        WordleDictionary latest = dictionarySource.get();
+        if (latest != gameDictionary) {
+            gameDictionary = latest;
+            leftWords = new CandidateSet(latest.size());
+            answer = null; // индекс прошлого ответа относится к старой версии словаря
+            if (playedWordsRepository != null) {
+                playedWordsRepository.remap(latest); // история переходит на индексы новой версии
+            }
+            if (difficultyStats != null) {
+                difficultyTiers = DifficultyTiers.of(latest, difficultyStats);
+            }
+        }
+        guessDictionary = null;
+        if (constraints == null || constraints.getWordLength() != gameDictionary.getWordLength()) {
+            constraints = new GuessConstraints(gameDictionary.getWordLength());
+        } else {
+            constraints.reset();
+        }
+        leftWords.reset();
+        if (gameDictionary.isEmpty()) throw new WordleGameEmptyWordsCollectionException();
+        int wordsCount = gameDictionary.size();
+        if (playedWords != null) {
+            setAnswerIndex(randomUnplayedIndex());
+        } else if (answer != null && wordsCount > 1) {
+            setAnswerIndex(randomIndexExcept(answerIndex));
+        } else {
+            setAnswerIndex(drawIndex());
+        }
+    }
+
+    // Слово выбранного уровня сложности или, без уровней, с учетом весов словаря
+    private int drawIndex() {
+        return difficultyTiers != null ? difficultyTiers.randomIndex(difficulty, random) : gameDictionary.randomIndex(random);
+    }
+
+    private int randomIndexExcept(int excludedIndex) {
+        if (gameDictionary.isWeighted() || difficultyTiers != null) {
+            // прошлый ответ выпадает редко; если его вес почти весь словарь или уровень из одного слова - выбираем равновероятно
+            for (int attempt = 0; attempt < MAX_WEIGHTED_REDRAWS; attempt++) {
+                int index = drawIndex();
+                if (index != excludedIndex) return index;
+            }
+        }
+        // выбираем из всех слов, кроме прошлого ответа, без повторных попыток
+        int index = random.nextInt(gameDictionary.size() - 1);
+        return index >= excludedIndex ? index + 1 : index;
+    }
+
+    // Сыгранные ответы пропускаются, пока не сыгран весь круг - слова выбранного уровня сложности или, без уровней,
+    // весь словарь, затем круг начинается заново. Пока сыграно меньше половины слов круга, случайное слово оказывается
+    // новым чаще, чем в половине случаев, и хватает пары выборов; иначе новое слово выбирается по номеру среди несыгранных
+    private int randomUnplayedIndex() {
+        int[] tier = difficultyTiers != null ? difficultyTiers.indices(difficulty) : null;
+        if (tier != null && tier.length == 0) tier = null; // уровень пуст - ответы из всего словаря (см. DifficultyTiers)
+        int wordsCount = tier != null ? tier.length : gameDictionary.size();
+        int playedCount = tier != null ? countPlayed(tier) : playedWords.cardinality();
+        if (playedCount >= wordsCount) {
+            playedCount = startNewRound(tier);
+        }
+        int index = -1;
+        if (playedCount * 2 < wordsCount) {
+            for (int attempt = 0; attempt < MAX_UNPLAYED_REDRAWS && index < 0; attempt++) {
+                int candidate = drawIndex();
+                if (!playedWords.contains(candidate)) {
+                    index = candidate;
+                }
+            }
+        }
+        if (index < 0) {
+            int rank = random.nextInt(wordsCount - playedCount);
+            index = tier != null ? selectUnplayed(tier, rank) : playedWords.selectAbsent(rank, wordsCount);
+        }
+        playedWords.add(index);
+        return index;
+    }
+
+    private int countPlayed(int[] tier) {
+        int count = 0;
+        for (int index : tier) {
+            if (playedWords.contains(index)) count++;
+        }
+        return count;
+    }
+
+    private int selectUnplayed(int[] tier, int rank) {
+        for (int index : tier) {
+            if (!playedWords.contains(index) && rank-- == 0) return index;
+        }
+        throw new IllegalStateException("Нет несыгранного слова с таким номером");
+    }
+
+    // Забывает сыгранные слова круга, история остальных уровней сохраняется. Возвращает, сколько слов круга
+    // уже сыграно: новый круг не начинается с только что сыгранного слова
+    private int startNewRound(int[] tier) {
+        boolean keepAnswer = answer != null && (tier != null ? tier.length : gameDictionary.size()) > 1;
+        if (tier == null) {
+            playedWords.clear();
         } else {
-            answer = leftWords.getRandomWord();
+            boolean[] inTier = new boolean[gameDictionary.size()];
+            for (int index : tier) {
+                inTier[index] = true;
+            }
+            int[] kept = new int[playedWords.cardinality()];
+            int keptCount = 0;
+            for (int index = 0; index < inTier.length && keptCount < kept.length; index++) {
+                if (!inTier[index] && playedWords.contains(index)) kept[keptCount++] = index;
+            }
+            playedWords.clear();
+            for (int i = 0; i < keptCount; i++) {
+                playedWords.add(kept[i]);
+            }
+            keepAnswer = keepAnswer && inTier[answerIndex];
+        }
+        if (keepAnswer) {
+            playedWords.add(answerIndex);
+            return 1;
         }
+        return 0;
     }
 
     public WordleDictionary getGameDictionary() {
         return gameDictionary;
     }
 
-    public WordleDictionary getLeftWords() {
-        return leftWords;
+    public WordleDictionary getGuessDictionary() {
+        if (guessDictionary == null) {
+            guessDictionary = pinGuessDictionary();
+        }
+        return guessDictionary;
+    }
+
+    // Ответ принимается всегда, даже если списки ответов и допустимых слов разошлись
+    public boolean isAllowedGuess(long code) {
+        return code == answerCode || gameDictionary.containsCode(code) || getGuessDictionary().containsCode(code);
     }
 
-    public Set<Character> getSkipLetters() {
-        return skipLetters;
+    public void setPlayedWords(PlayedWordsRepository repository, String username) {
+        // история могла быть загружена по версии словаря, отличной от версии текущей игры
+        repository.remap(gameDictionary);
+        this.playedWordsRepository = repository;
+        this.playedWords = repository.getPlayedWords(username);
     }
 
-    public Set<Character> getMaybeLetters() {
-        return maybeLetters;
+    public void setFeedbackMatrix(FeedbackMatrix feedbackMatrix) {
+        this.feedbackMatrix = feedbackMatrix;
     }
 
-    public List<Character> getOkLetters() {
-        return okLetters;
+    // Строки матрицы для слов текущей версии словаря ответов; null - матрицы нет или она посчитана для других версий
+    // словарей. Строки сопоставляются по кодам слов, поэтому остаются верными и после перезагрузки словаря догадок
+    // Матрица ответов, если она посчитана для текущих словарей допустимых и загадываемых слов, иначе null
+    public FeedbackMatrix getFeedbackMatrix() {
+        return feedbackMatrix != null && feedbackMatrix.isFor(getGuessDictionary(), gameDictionary) ? feedbackMatrix : null;
+    }
+
+    public void setDifficulty(DifficultyStats difficultyStats, DifficultyTiers.Difficulty difficulty) {
+        this.difficultyStats = difficultyStats;
+        this.difficulty = difficulty;
+        this.difficultyTiers = difficultyStats == null ? null : DifficultyTiers.of(gameDictionary, difficultyStats);
+    }
+
+    public CandidateSet getLeftWords() {
+        return leftWords;
+    }
+
+    public GuessConstraints getConstraints() {
+        return constraints;
     }
 
     public GameProgressState getGameProgressState() {
@@ -70,20 +247,32 @@ public class WordleGameState {
         return usedAttempts;
     }
 
-    public String getLastWord() {
-        return lastWord;
-    }
-
     public String getAnswer() {
         return answer;
     }
 
+    public long getAnswerCode() {
+        return answerCode;
+    }
+
+    public int getAnswerIndex() {
+        return answerIndex;
+    }
+
     public boolean hasUsedHint() {
         return hasUsedHint;
     }
 
     public void setAnswer(String answer) {
         this.answer = answer;
+        this.answerCode = gameDictionary.encode(answer);
+        this.answerIndex = gameDictionary.indexOf(answerCode);
+    }
+
+    private void setAnswerIndex(int index) {
+        answerIndex = index;
+        answerCode = gameDictionary.codeAt(index);
+        answer = gameDictionary.decode(answerCode);
     }
 
     public void setGameProgressState(GameProgressState gameProgressState) {
@@ -98,10 +287,6 @@ public class WordleGameState {
         this.usedAttempts++;
     }
 
-    public void setLastWord(String lastWord) {
-        this.lastWord = lastWord;
-    }
-
     public enum GameProgressState {
         PLAY, NO_ATTEMPTS, WIN
     }
@@ -0,0 +1,46 @@
+package ru.yandex.practicum.client.util;
+
+// Упаковка слова в long: по LETTER_BITS бит на букву, первая буква в старшей ячейке, поэтому порядок кодов
+// совпадает с порядком слов по номерам букв. Ячейка хранит номер буквы + 1: нулевое значение зарезервировано
+// под "нет буквы", так что код слова никогда не равен 0.
+public class WordCodec {
+    public static final int LETTER_BITS = 6;
+    public static final int MAX_WORD_LENGTH = Long.SIZE / LETTER_BITS;
+    public static final long NO_CODE = -1L;
+
+    public static final long LETTER_MASK = (1L << LETTER_BITS) - 1;
+    public static final long LANE_LOW_BITS = 0x0041041041041041L; // младший бит каждой ячейки
+
+    public static long append(long code, int letterId) {
+        return (code << LETTER_BITS) | (letterId + 1);
+    }
+
+    public static int letterAt(long code, int position, int length) {
+        return (int) ((code >>> ((length - 1 - position) * LETTER_BITS)) & LETTER_MASK) - 1;
+    }
+
+    // Количество позиций с разными буквами у слов одной длины: в каждой ячейке XOR все ее биты сводятся
+    // в младший, и остается посчитать младшие биты - без цикла по буквам
+    public static int hammingDistance(long code, long otherCode) {
+        return Long.bitCount(differentLanes(code, otherCode));
+    }
+
+    // Младшие биты ячеек с одинаковыми буквами; ячейки старше длины слова пусты в обоих кодах и тоже считаются
+    // одинаковыми, поэтому результат обычно пересекают с lanes(length)
+    public static long equalLanes(long code, long otherCode) {
+        return ~differentLanes(code, otherCode) & LANE_LOW_BITS;
+    }
+
+    // Младшие биты ячеек слова длины length
+    public static long lanes(int length) {
+        return LANE_LOW_BITS & ((1L << length * LETTER_BITS) - 1);
+    }
+
+    private static long differentLanes(long code, long otherCode) {
+        long diff = code ^ otherCode;
+        diff |= diff >>> 1;
+        diff |= diff >>> 2;
+        diff |= diff >>> 2;
+        return diff & LANE_LOW_BITS;
+    }
+}
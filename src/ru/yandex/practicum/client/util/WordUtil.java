@@ -1,39 +1,32 @@
 package ru.yandex.practicum.client.util;
 
-import java.util.Collection;
-import java.util.List;
-
+// Проверки слова по знаниям игры без коллекций: набор букв - маска long с битом номера буквы (см. letterMask),
+// известные буквы на позициях - код из этих букв и маска их ячеек. Каждая проверка слова - одна-две операции AND.
 public class WordUtil {
 
-    public static int wordHasAnyLetter(String word, Collection<Character> letters) {
-        int count = 0;
-        for (int i = 0; i < word.length(); i++) {
-            if (letters.contains(word.charAt(i))) {
-                count++;
-            }
+    // Бит номера каждой буквы слова; номер буквы меньше 63, поэтому все буквы алфавита помещаются в long
+    public static long letterMask(long code, int length) {
+        long mask = 0;
+        for (int position = 0; position < length; position++) {
+            mask |= 1L << WordCodec.letterAt(code, position, length);
         }
-        return count;
+        return mask;
     }
 
-    public static boolean wordHasAllLetters(String word, Collection<Character> letters) {
-        for (Character c : letters) {
-            if (!word.contains(String.valueOf(c))) {
-                return false;
-            }
-        }
-        return true;
+    public static boolean wordHasAnyLetter(long wordMask, long letters) {
+        return (wordMask & letters) != 0;
     }
 
-    public static boolean wordHasLettersInPlace(String word, List<Character> okLetters) {
-        for (int c = 0; c < word.length(); c++) {
-            if (okLetters.get(c) != null && okLetters.get(c) != word.charAt(c)) {
-                return false;
-            }
-        }
-        return true;
+    public static boolean wordHasAllLetters(long wordMask, long letters) {
+        return (wordMask & letters) == letters;
+    }
+
+    // placedCode - код из известных букв, placedLanes - все биты их ячеек; остальные ячейки не сравниваются
+    public static boolean wordHasLettersInPlace(long code, long placedCode, long placedLanes) {
+        return ((code ^ placedCode) & placedLanes) == 0;
     }
 
     public static String normalizeWord(String rawWord) {
-        return rawWord.toLowerCase().replaceAll("ё", "е");
+        return rawWord.toLowerCase().replace('ё', 'е');
     }
 }
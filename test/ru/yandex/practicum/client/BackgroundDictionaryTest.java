@@ -0,0 +1,79 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.*;
+import ru.yandex.practicum.client.game.BackgroundDictionary;
+import ru.yandex.practicum.client.game.WordleDictionary;
+import ru.yandex.practicum.client.game.WordleDictionaryBuilder;
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.yandex.practicum.TestsStubs.*;
+
+public class BackgroundDictionaryTest {
+    private static final long TEST_TIMEOUT_S = 10;
+    private static final String NAME = "test";
+    private static final List<String> SHARD_WORDS = List.of("арбуз");
+    private static final List<String> FULL_WORDS = List.of("арбуз", "автор", "вишня");
+
+    private Logger logger;
+    private WordleDictionary shard;
+    private WordleDictionary full;
+
+    @BeforeEach
+    public void init() {
+        logger = new Logger(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        // given
+        shard = createDictionary(SHARD_WORDS);
+        full = createDictionary(FULL_WORDS);
+    }
+
+    private WordleDictionary createDictionary(List<String> words) {
+        return new WordleDictionaryBuilder(WORDS_LENGTH, VALID_CHARS_REGEX).addAll(words).build();
+    }
+
+    @Test
+    @Timeout(TEST_TIMEOUT_S)
+    @DisplayName("Проверка, что до окончания загрузки отдается шард, а после - полный словарь с индексами")
+    public void get_beforeAndAfterLoad_shardThenFull() throws InterruptedException {
+        // given
+        CountDownLatch loadAllowed = new CountDownLatch(1);
+        CountDownLatch warmedUp = new CountDownLatch(1);
+        BackgroundDictionary dictionary = new BackgroundDictionary(logger, NAME, () -> {
+            loadAllowed.await();
+            return full;
+        }, loaded -> warmedUp.countDown(), shard).start();
+        // then
+        assertSame(shard, dictionary.get(), "До загрузки должен отдаваться шард");
+        assertFalse(dictionary.isReady(), "Словарь еще не загружен");
+        // when
+        loadAllowed.countDown();
+        warmedUp.await();
+        // then
+        assertTrue(dictionary.isReady(), "Словарь должен быть загружен");
+        assertSame(full, dictionary.get(), "После загрузки должен отдаваться полный словарь");
+    }
+
+    @Test
+    @Timeout(TEST_TIMEOUT_S)
+    @DisplayName("Проверка, что без шарда get ждет загрузки, а ошибка загрузки передается вызывающему")
+    public void get_withoutFallback_waitsOrThrows() {
+        // given
+        BackgroundDictionary loaded = new BackgroundDictionary(logger, NAME, () -> full, dictionary -> { }, null).start();
+        BackgroundDictionary failed = new BackgroundDictionary(logger, NAME, () -> {
+            throw new IOException("Файл не найден");
+        }, dictionary -> { }, null).start();
+        BackgroundDictionary failedWithShard = new BackgroundDictionary(logger, NAME, () -> {
+            throw new IOException("Файл не найден");
+        }, dictionary -> { }, shard).start();
+        // then
+        assertSame(full, loaded.get(), "Без шарда должен дождаться загрузки");
+        assertThrows(IllegalStateException.class, failed::get, "Ожидалось исключение IllegalStateException");
+        assertSame(shard, failedWithShard.get(), "При ошибке загрузки остается шард");
+    }
+}
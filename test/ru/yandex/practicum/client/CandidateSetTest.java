@@ -0,0 +1,89 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.client.exception.WordleGameEmptyWordsCollectionException;
+import ru.yandex.practicum.client.game.CandidateSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandidateSetTest {
+    private static final int CAPACITY = 100; // не кратно 64, чтобы проверить хвост последнего слова
+    private static final int REMOVED_INDEX = 70;
+
+    private CandidateSet candidates;
+
+    @BeforeEach
+    void init() {
+        // given
+        candidates = new CandidateSet(CAPACITY);
+    }
+
+    @Test
+    @DisplayName("Проверка, что randomIndex выдает только оставшиеся индексы и не убирает их")
+    void randomIndex_returnsRemainingIndex() throws WordleGameEmptyWordsCollectionException {
+        // when
+        for (int i = 0; i < CAPACITY - 1; i++) {
+            int index = candidates.randomIndex();
+            assertTrue(candidates.contains(index), "Индекс должен быть из множества: " + index);
+            assertEquals(CAPACITY - i, candidates.size(), "Выбор не должен менять множество");
+            candidates.remove(index);
+        }
+        // then
+        int last = candidates.nextIndex(0);
+        assertEquals(last, candidates.randomIndex(), "Остался единственный индекс");
+        candidates.remove(last);
+        assertThrows(WordleGameEmptyWordsCollectionException.class, candidates::randomIndex, "Ожидалось исключение WordleGameEmptyWordsCollectionException");
+    }
+
+    @Test
+    @DisplayName("Проверка, что reset возвращает все индексы")
+    void reset_restoresAllIndices() {
+        // given
+        for (int i = 0; i < CAPACITY; i += 2) {
+            candidates.remove(i);
+        }
+        // when
+        candidates.reset();
+        // then
+        assertEquals(CAPACITY, candidates.size(), "Множество должно содержать все индексы");
+        int count = 0;
+        for (int index = candidates.nextIndex(0); index >= 0; index = candidates.nextIndex(index + 1)) {
+            count++;
+        }
+        assertEquals(CAPACITY, count, "Обход должен вернуть все индексы");
+    }
+
+    @Test
+    @DisplayName("Проверка удаления кандидата по индексу")
+    void remove_removesIndex() {
+        // when
+        assertTrue(candidates.remove(REMOVED_INDEX), "Индекс должен быть удален");
+        assertFalse(candidates.remove(REMOVED_INDEX), "Повторное удаление не должно ничего менять");
+        // then
+        assertEquals(CAPACITY - 1, candidates.size(), "Размер множества должен уменьшиться на 1");
+        assertFalse(candidates.contains(REMOVED_INDEX), "Удаленный индекс не должен остаться в множестве");
+        assertEquals(REMOVED_INDEX + 1, candidates.nextIndex(REMOVED_INDEX), "Обход должен пропускать удаленный индекс");
+        assertThrows(IndexOutOfBoundsException.class, () -> candidates.contains(CAPACITY), "Ожидалось исключение IndexOutOfBoundsException");
+    }
+
+    @Test
+    @DisplayName("Проверка пересечения и вычитания битовых множеств кандидатов")
+    void retainAll_removeAll_updateCandidatesAndSize() {
+        // given
+        long[] evenIndices = new long[(CAPACITY + Long.SIZE - 1) / Long.SIZE];
+        for (int i = 0; i < CAPACITY; i += 2) {
+            evenIndices[i / Long.SIZE] |= 1L << i;
+        }
+        // when
+        candidates.retainAll(evenIndices);
+        // then
+        assertEquals(CAPACITY / 2, candidates.size(), "Должны остаться только четные индексы");
+        assertTrue(candidates.contains(0) && !candidates.contains(1), "Должны остаться только четные индексы");
+        // when
+        candidates.removeAll(evenIndices);
+        // then
+        assertTrue(candidates.isEmpty(), "После вычитания множество должно быть пустым");
+    }
+}
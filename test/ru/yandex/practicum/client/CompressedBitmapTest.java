@@ -0,0 +1,75 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.client.game.CompressedBitmap;
+
+import java.io.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedBitmapTest {
+    private static final int SPARSE_STEP = 997;
+    private static final int SPARSE_COUNT = 20;
+    private static final int DENSE_COUNT = 10_000; // больше ARRAY_MAX_SIZE - контейнер становится битовой картой
+    private static final int SECOND_CHUNK_VALUE = 70_000;
+    private static final int LIMIT = 100_000;
+
+    @Test
+    @DisplayName("Проверка добавления и поиска значений в разных контейнерах")
+    void add_sparseAndDenseValues_containsAll() {
+        // given
+        CompressedBitmap bitmap = new CompressedBitmap();
+        // when
+        for (int i = 0; i < DENSE_COUNT; i++) {
+            assertTrue(bitmap.add(i * 2), "Новое значение должно добавиться");
+        }
+        assertTrue(bitmap.add(SECOND_CHUNK_VALUE), "Новое значение должно добавиться");
+        assertFalse(bitmap.add(SECOND_CHUNK_VALUE), "Повторное добавление не должно ничего менять");
+        // then
+        assertEquals(DENSE_COUNT + 1, bitmap.cardinality(), "Неверное количество значений");
+        assertTrue(bitmap.contains(2) && !bitmap.contains(1), "Должны остаться только четные значения");
+        assertTrue(bitmap.contains(SECOND_CHUNK_VALUE), "Значение второго контейнера не найдено");
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1), "Ожидалось исключение IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("Проверка выбора значения по номеру среди отсутствующих")
+    void selectAbsent_skipsPresentValues() {
+        // given
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < SPARSE_COUNT; i++) {
+            bitmap.add(i);
+        }
+        bitmap.add(SECOND_CHUNK_VALUE);
+        // then
+        assertEquals(SPARSE_COUNT, bitmap.selectAbsent(0, LIMIT), "Первое отсутствующее значение - сразу за серией");
+        assertEquals(SECOND_CHUNK_VALUE + 1, bitmap.selectAbsent(SECOND_CHUNK_VALUE - SPARSE_COUNT, LIMIT),
+                "Присутствующее значение второго контейнера должно пропускаться");
+        assertThrows(IndexOutOfBoundsException.class, () -> bitmap.selectAbsent(LIMIT, LIMIT),
+                "Ожидалось исключение IndexOutOfBoundsException");
+    }
+
+    @Test
+    @DisplayName("Проверка, что множество записывается компактно и читается без потерь")
+    void write_read_sameValues() throws IOException {
+        // given
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < SPARSE_COUNT; i++) {
+            bitmap.add(i * SPARSE_STEP);
+        }
+        for (int i = 0; i < DENSE_COUNT; i++) {
+            bitmap.add(SECOND_CHUNK_VALUE + i);
+        }
+        // when
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bitmap.write(new DataOutputStream(bytes));
+        CompressedBitmap restored = CompressedBitmap.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        // then
+        assertEquals(bitmap.cardinality(), restored.cardinality(), "Неверное количество значений");
+        for (int i = 0; i < LIMIT; i++) {
+            assertEquals(bitmap.contains(i), restored.contains(i), "Значения не совпадают: " + i);
+        }
+        assertTrue(bytes.size() < 100, "Серия подряд идущих значений должна записываться одной парой чисел: " + bytes.size());
+    }
+}
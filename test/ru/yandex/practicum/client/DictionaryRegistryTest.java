@@ -0,0 +1,234 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.*;
+import ru.yandex.practicum.client.game.DictionaryRegistry;
+import ru.yandex.practicum.client.game.FeedbackMatrix;
+import ru.yandex.practicum.client.game.WordleAlphabet;
+import ru.yandex.practicum.client.game.WordleDictionary;
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.yandex.practicum.TestsStubs.*;
+
+public class DictionaryRegistryTest {
+    private static final long UNLIMITED_BUDGET = Long.MAX_VALUE;
+    private static final long NO_BUDGET = 0;
+    private static final int OTHER_WORDS_LENGTH = 6;
+    private static final String UNKNOWN_LANGUAGE = "xx";
+    private static final String ANSWERS_LANGUAGE = "ru-answers";
+    private static final String ANSWERS_FILE = "words_ru_answers_test.txt";
+    private static final List<String> ANSWERS = List.of("арбуз", "автор");
+    private static final String TEMP_DIR_PREFIX = "wordle";
+    private static final String MATRIX_LANGUAGE = "ru-matrix";
+    private static final List<String> MATRIX_WORDS = List.of("арбуз", "автор", "вишня", "груша", "барон", "ананас", "кабина");
+
+    private Logger logger;
+
+    @BeforeEach
+    public void init() {
+        logger = new Logger(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+    }
+
+    private DictionaryRegistry createRegistry(long memoryBudget) {
+        DictionaryRegistry registry = new DictionaryRegistry(logger, memoryBudget);
+        registry.registerLanguage(DictionaryRegistry.RUSSIAN, WORDS_FILE, WordleAlphabet.RUSSIAN);
+        return registry;
+    }
+
+    @Test
+    @DisplayName("Проверка, что словарь загружается при первом запросе и затем разделяется")
+    public void get_SameKeyTwice_SameDictionary() throws IOException {
+        // given
+        DictionaryRegistry registry = createRegistry(UNLIMITED_BUDGET);
+        assertFalse(registry.isLoaded(DictionaryRegistry.RUSSIAN, WORDS_LENGTH), "Словарь не должен загружаться заранее");
+        // when
+        WordleDictionary first = registry.get(DictionaryRegistry.RUSSIAN, WORDS_LENGTH);
+        WordleDictionary second = registry.get(DictionaryRegistry.RUSSIAN, WORDS_LENGTH);
+        // then
+        assertSame(first, second, "Повторный запрос должен вернуть тот же словарь");
+        assertEquals(WORDS_LENGTH, first.getWordLength(), "Неверная длина слов словаря");
+        assertEquals(first.sizeInBytes(), registry.getUsedBytes(), "Неверно посчитана занятая память");
+    }
+
+    @Test
+    @DisplayName("Проверка, что словари языка со сжатием загружаются сжатыми и с теми же словами")
+    public void get_CompressedLanguage_CompressedDictionary() throws IOException {
+        // given
+        WordleDictionary plain = createRegistry(UNLIMITED_BUDGET).get(DictionaryRegistry.RUSSIAN, WORDS_LENGTH);
+        DictionaryRegistry registry = createRegistry(UNLIMITED_BUDGET);
+        registry.setCompressed(DictionaryRegistry.RUSSIAN, true);
+        // when
+        WordleDictionary compressed = registry.get(DictionaryRegistry.RUSSIAN, WORDS_LENGTH);
+        // then
+        assertTrue(compressed.isCompressed(), "Словарь должен храниться сжатым");
+        assertFalse(plain.isCompressed(), "Словарь без сжатия не должен храниться сжатым");
+        assertEquals(plain.size(), compressed.size(), "Сжатие не должно менять число слов");
+        for (int i = 0; i < plain.size(); i++) {
+            assertTrue(compressed.containsCode(plain.codeAt(i)), "Сжатый словарь потерял слово " + plain.decode(plain.codeAt(i)));
+        }
+        assertEquals(compressed.sizeInBytes(), registry.getUsedBytes(), "Неверно посчитана занятая память");
+    }
+
+    @Test
+    @DisplayName("Проверка, что словари разной длины загружаются отдельно")
+    public void get_DifferentLengths_DifferentDictionaries() throws IOException {
+        // given
+        DictionaryRegistry registry = createRegistry(UNLIMITED_BUDGET);
+        // when
+        WordleDictionary five = registry.get(DictionaryRegistry.RUSSIAN, WORDS_LENGTH);
+        WordleDictionary six = registry.get(DictionaryRegistry.RUSSIAN, OTHER_WORDS_LENGTH);
+        // then
+        assertEquals(OTHER_WORDS_LENGTH, six.getWordLength(), "Неверная длина слов словаря");
+        assertFalse(six.isEmpty(), "Словарь не должен быть пустым");
+        assertEquals(five.sizeInBytes() + six.sizeInBytes(), registry.getUsedBytes(), "Неверно посчитана занятая память");
+    }
+
+    @Test
+    @DisplayName("Проверка, что сверх бюджета вытесняется давно не запрошенный словарь")
+    public void get_OverMemoryBudget_EldestEvicted() throws IOException {
+        // given
+        DictionaryRegistry registry = createRegistry(NO_BUDGET);
+        WordleDictionary five = registry.get(DictionaryRegistry.RUSSIAN, WORDS_LENGTH);
+        // when
+        registry.get(DictionaryRegistry.RUSSIAN, OTHER_WORDS_LENGTH);
+        // then
+        assertFalse(registry.isLoaded(DictionaryRegistry.RUSSIAN, WORDS_LENGTH), "Словарь должен быть вытеснен");
+        assertTrue(registry.isLoaded(DictionaryRegistry.RUSSIAN, OTHER_WORDS_LENGTH), "Последний запрошенный словарь не вытесняется");
+        assertSame(five, registry.get(DictionaryRegistry.RUSSIAN, WORDS_LENGTH),
+                "Используемый играми словарь не должен загружаться повторно");
+    }
+
+    @Test
+    @DisplayName("Проверка, что построенные после загрузки индексы словаря учитываются в бюджете памяти")
+    public void getUsedBytes_IndexBuiltAfterLoad_Counted() throws IOException {
+        // given
+        DictionaryRegistry registry = createRegistry(UNLIMITED_BUDGET);
+        WordleDictionary dictionary = registry.get(DictionaryRegistry.RUSSIAN, WORDS_LENGTH);
+        long loadedBytes = registry.getUsedBytes();
+        // when
+        long indexBytes = dictionary.getLetterIndex().sizeInBytes() + dictionary.getPrefixIndex().sizeInBytes();
+        // then
+        assertEquals(loadedBytes + indexBytes, registry.getUsedBytes(), "Индексы должны входить в занятую память");
+        assertEquals(dictionary.sizeInBytes(), registry.getUsedBytes(), "Неверно посчитана занятая память");
+    }
+
+    // Язык с маленьким словарем во временном каталоге: туда же пишется файл кеша матрицы ответов
+    private Path registerMatrixLanguage(DictionaryRegistry registry) throws IOException {
+        Path dir = Files.createTempDirectory(TEMP_DIR_PREFIX);
+        Path wordsFile = dir.resolve(WORDS_FILE);
+        Files.write(wordsFile, MATRIX_WORDS, StandardCharsets.UTF_8);
+        registry.registerLanguage(MATRIX_LANGUAGE, wordsFile.toString(), WordleAlphabet.RUSSIAN);
+        return dir;
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    @DisplayName("Проверка, что матрица ответов разделяется и учитывается в бюджете памяти")
+    public void getFeedbackMatrix_SameKeyTwice_CountedOnce() throws IOException {
+        // given
+        DictionaryRegistry registry = createRegistry(UNLIMITED_BUDGET);
+        Path dir = registerMatrixLanguage(registry);
+        try {
+            // when
+            FeedbackMatrix matrix = registry.getFeedbackMatrix(MATRIX_LANGUAGE, WORDS_LENGTH);
+            FeedbackMatrix second = registry.getFeedbackMatrix(MATRIX_LANGUAGE, WORDS_LENGTH);
+            // then
+            WordleDictionary words = registry.get(MATRIX_LANGUAGE, WORDS_LENGTH);
+            assertSame(matrix, second, "Повторный запрос должен вернуть ту же матрицу");
+            assertTrue(matrix.isFor(words, words), "Матрица должна подходить словарю");
+            assertEquals(words.sizeInBytes() + matrix.sizeInBytes(), registry.getUsedBytes(), "Матрица должна входить в занятую память");
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что сверх бюджета давно не запрошенная матрица вытесняется, как словарь")
+    public void getFeedbackMatrix_OverMemoryBudget_Evicted() throws IOException {
+        // given
+        DictionaryRegistry probe = createRegistry(UNLIMITED_BUDGET);
+        Path dir = registerMatrixLanguage(probe);
+        try {
+            // оба словаря помещаются в бюджет, а вместе с матрицей - нет
+            long budget = probe.get(MATRIX_LANGUAGE, WORDS_LENGTH).sizeInBytes() + probe.get(MATRIX_LANGUAGE, OTHER_WORDS_LENGTH).sizeInBytes()
+                    + probe.getFeedbackMatrix(MATRIX_LANGUAGE, WORDS_LENGTH).sizeInBytes() - 1;
+            DictionaryRegistry registry = new DictionaryRegistry(logger, budget);
+            registry.registerLanguage(MATRIX_LANGUAGE, dir.resolve(WORDS_FILE).toString(), WordleAlphabet.RUSSIAN);
+            FeedbackMatrix matrix = registry.getFeedbackMatrix(MATRIX_LANGUAGE, WORDS_LENGTH);
+            WordleDictionary five = registry.get(MATRIX_LANGUAGE, WORDS_LENGTH); // матрица становится самой давней
+            // when
+            WordleDictionary six = registry.get(MATRIX_LANGUAGE, OTHER_WORDS_LENGTH);
+            // then
+            assertEquals(five.sizeInBytes() + six.sizeInBytes(), registry.getUsedBytes(), "Матрица должна быть вытеснена");
+            assertSame(matrix, registry.getFeedbackMatrix(MATRIX_LANGUAGE, WORDS_LENGTH),
+                    "Используемая матрица не должна считаться повторно");
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что матрица больше всего бюджета памяти не загружается")
+    public void getFeedbackMatrix_LargerThanBudget_Null() throws IOException {
+        // given
+        DictionaryRegistry registry = createRegistry(NO_BUDGET);
+        Path dir = registerMatrixLanguage(registry);
+        try {
+            // when
+            FeedbackMatrix matrix = registry.getFeedbackMatrix(MATRIX_LANGUAGE, WORDS_LENGTH);
+            // then
+            assertNull(matrix, "Матрица не помещается в бюджет");
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка запроса словаря незарегистрированного языка")
+    public void get_UnknownLanguage_IllegalArgumentException() {
+        // given
+        DictionaryRegistry registry = createRegistry(UNLIMITED_BUDGET);
+        // then
+        assertThrows(IllegalArgumentException.class, () -> registry.get(UNKNOWN_LANGUAGE, WORDS_LENGTH),
+                "Ожидалось исключение IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("Проверка, что список ответов загружается отдельно от словаря допустимых слов")
+    public void getAnswers_SeparateAnswersFile_SmallerDictionary() throws IOException {
+        // given
+        Files.write(Path.of(ANSWERS_FILE), ANSWERS, StandardCharsets.UTF_8);
+        try {
+            DictionaryRegistry registry = createRegistry(UNLIMITED_BUDGET);
+            registry.registerLanguage(ANSWERS_LANGUAGE, WORDS_FILE, ANSWERS_FILE, WordleAlphabet.RUSSIAN);
+            // when
+            WordleDictionary answers = registry.getAnswers(ANSWERS_LANGUAGE, WORDS_LENGTH);
+            WordleDictionary guesses = registry.get(ANSWERS_LANGUAGE, WORDS_LENGTH);
+            // then
+            assertTrue(registry.hasAnswers(ANSWERS_LANGUAGE), "У языка должен быть список ответов");
+            assertEquals(ANSWERS.size(), answers.size(), "Неверный размер списка ответов");
+            assertTrue(guesses.size() > answers.size(), "Словарь допустимых слов должен быть полным");
+            assertSame(registry.get(DictionaryRegistry.RUSSIAN, WORDS_LENGTH), registry.getAnswers(DictionaryRegistry.RUSSIAN, WORDS_LENGTH),
+                    "Без списка ответов ответы берутся из общего словаря");
+        } finally {
+            new File(ANSWERS_FILE).delete();
+        }
+    }
+}
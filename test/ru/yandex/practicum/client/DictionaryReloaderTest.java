@@ -0,0 +1,97 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.*;
+import ru.yandex.practicum.client.exception.WordleGameException;
+import ru.yandex.practicum.client.game.DictionaryReloader;
+import ru.yandex.practicum.client.game.WordleAlphabet;
+import ru.yandex.practicum.client.game.WordleDictionary;
+import ru.yandex.practicum.client.game.WordleDictionaryLoader;
+import ru.yandex.practicum.client.game.WordleGame;
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.yandex.practicum.TestsStubs.*;
+
+public class DictionaryReloaderTest {
+    private static final String TEMP_DIR_PREFIX = "wordle";
+    private static final String WORDS_FILE_NAME = "words.txt";
+    private static final String OLD_WORDS = "арбуз\nвишня\n";
+    private static final String NEW_WORDS = "автор\nбанан\nгруша\n";
+    private static final String OLD_WORD = "арбуз";
+    private static final String NEW_WORD = "автор";
+    private static final int NEW_WORDS_COUNT = 3;
+    private static final long TEST_TIMEOUT_S = 10;
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private Logger logger;
+    private Path wordsFile;
+    private DictionaryReloader reloader;
+
+    @BeforeEach
+    public void init() throws IOException {
+        logger = new Logger(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        // given
+        wordsFile = Files.createTempDirectory(TEMP_DIR_PREFIX).resolve(WORDS_FILE_NAME);
+        Files.writeString(wordsFile, OLD_WORDS);
+        WordleDictionary initial = new WordleDictionaryLoader(logger)
+                .loadWords(wordsFile.toString(), WORDS_LENGTH, WordleAlphabet.RUSSIAN);
+        reloader = new DictionaryReloader(logger, wordsFile.toString(), WORDS_LENGTH, WordleAlphabet.RUSSIAN, initial);
+    }
+
+    @AfterEach
+    public void cleanUp() throws IOException {
+        reloader.close();
+        Files.deleteIfExists(wordsFile);
+        Files.deleteIfExists(wordsFile.getParent());
+    }
+
+    @Test
+    @DisplayName("Проверка, что начатая игра остается на своей версии словаря до перезапуска")
+    public void reload_GameInProgress_PinnedToStartedVersion() throws IOException, WordleGameException {
+        // given
+        WordleGame game = new WordleGame(logger, reloader);
+        Files.writeString(wordsFile, NEW_WORDS);
+        // when
+        assertTrue(reloader.reload(), "Словарь должен быть перезагружен");
+        // then
+        assertEquals(NEW_WORDS_COUNT, reloader.get().size(), "Опубликована неверная версия словаря");
+        assertDoesNotThrow(() -> game.checkWord(OLD_WORD), "Начатая игра должна проверять слова по своей версии");
+        game.reset();
+        assertThrows(WordleGameException.class, () -> game.checkWord(OLD_WORD), "После перезапуска игра должна взять новую версию");
+        assertDoesNotThrow(() -> game.checkWord(NEW_WORD), "Слово новой версии должно приниматься");
+    }
+
+    @Test
+    @DisplayName("Проверка, что пустой новый словарь не публикуется")
+    public void reload_EmptyFile_KeepsPreviousVersion() throws IOException {
+        // given
+        WordleDictionary previous = reloader.get();
+        Files.writeString(wordsFile, "");
+        // when
+        assertFalse(reloader.reload(), "Пустой словарь не должен публиковаться");
+        // then
+        assertSame(previous, reloader.get(), "Должна остаться прежняя версия словаря");
+    }
+
+    @Test
+    @Timeout(TEST_TIMEOUT_S)
+    @DisplayName("Проверка, что изменение файла словаря подхватывается автоматически")
+    public void start_FileChanged_NewVersionPublished() throws IOException, InterruptedException {
+        // given
+        int version = reloader.getVersion();
+        reloader.start();
+        // when
+        Files.writeString(wordsFile, NEW_WORDS);
+        while (reloader.getVersion() == version) {
+            Thread.sleep(POLL_INTERVAL_MS);
+        }
+        // then
+        assertTrue(reloader.get().contains(NEW_WORD), "Словарь должен содержать слова из нового файла");
+    }
+}
@@ -0,0 +1,158 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.*;
+import ru.yandex.practicum.client.exception.WordleGameException;
+import ru.yandex.practicum.client.game.DifficultyAnalyzer;
+import ru.yandex.practicum.client.game.DifficultyStats;
+import ru.yandex.practicum.client.game.DifficultyTiers;
+import ru.yandex.practicum.client.game.PlayedWordsRepository;
+import ru.yandex.practicum.client.game.WordleDictionary;
+import ru.yandex.practicum.client.game.WordleDictionaryBuilder;
+import ru.yandex.practicum.client.game.WordleGame;
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.yandex.practicum.TestsStubs.*;
+
+public class DifficultyAnalyzerTest {
+    private static final String TEMP_DIR_PREFIX = "wordle";
+    private static final String STATS_FILE_NAME = "words_5.difficulty";
+    private static final String PLAYED_FILE_NAME = "played_test.bin"; // история не сохраняется
+    private static final List<String> WORDS = List.of("арбуз", "автор", "вишня", "груша", "банан", "лимон");
+    private static final String ADDED_WORD = "арбус";   // сосед слова арбуз
+    private static final String NEIGHBOUR_WORD = "арбуз";
+    private static final String UNAFFECTED_WORD = "лимон";
+    private static final int SAMPLES = 100;
+
+    private Logger logger;
+    private Path statsFile;
+    private WordleDictionary dictionary;
+
+    @BeforeEach
+    public void init() throws IOException {
+        logger = new Logger(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        // given
+        statsFile = Files.createTempDirectory(TEMP_DIR_PREFIX).resolve(STATS_FILE_NAME);
+        dictionary = new WordleDictionaryBuilder(WORDS_LENGTH, VALID_CHARS_REGEX).addAll(WORDS).build();
+    }
+
+    @AfterEach
+    public void cleanUp() throws IOException {
+        Files.deleteIfExists(statsFile);
+    }
+
+    // Статистика, где у слова с номером i по алфавиту ожидается i + 1.3 попытки - таких значений симуляция не дает
+    private DifficultyStats writeFakeStats() throws IOException {
+        long[] codes = new long[dictionary.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = dictionary.codeAt(i);
+        }
+        Arrays.sort(codes);
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(statsFile.toFile()))) {
+            out.writeInt(DifficultyStats.MAGIC);
+            out.writeShort(DifficultyStats.VERSION);
+            out.writeShort(WORDS_LENGTH);
+            out.writeInt(codes.length);
+            for (int i = 0; i < codes.length; i++) {
+                out.writeLong(codes[i]);
+                out.writeChar((i + 1) * 1000 + 300);
+                out.writeChar(0);
+            }
+        }
+        return DifficultyStats.read(statsFile.toString());
+    }
+
+    @Test
+    @DisplayName("Проверка, что сложность считается для всех слов и сохраняется без потерь")
+    public void analyze_allWords_statsForEveryWord() throws IOException {
+        // when
+        DifficultyStats stats = new DifficultyAnalyzer(logger).analyze(dictionary, null);
+        stats.write(statsFile.toString());
+        DifficultyStats restored = DifficultyStats.read(statsFile.toString());
+        // then
+        assertEquals(WORDS.size(), restored.size(), "Сложность должна быть посчитана для всех слов");
+        for (int i = 0; i < restored.size(); i++) {
+            assertTrue(dictionary.containsCode(restored.codeAt(i)), "Статистика только по словам словаря");
+            assertTrue(restored.getExpectedAttempts(i) >= 1 && restored.getExpectedAttempts(i) <= WordleGame.MAX_STEPS + 1,
+                    "Среднее число попыток вне допустимого диапазона");
+            assertEquals(stats.getExpectedAttempts(i), restored.getExpectedAttempts(i), "Значение изменилось при сохранении");
+            assertEquals(stats.getFailureRate(i), restored.getFailureRate(i), "Значение изменилось при сохранении");
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что после изменения словаря пересчитываются только затронутые слова")
+    public void analyze_addedWord_recomputesOnlyAffected() throws IOException {
+        // given
+        DifficultyStats previous = writeFakeStats();
+        dictionary = new WordleDictionaryBuilder(WORDS_LENGTH, VALID_CHARS_REGEX).addAll(WORDS).addAll(List.of(ADDED_WORD)).build();
+        // when
+        DifficultyStats stats = new DifficultyAnalyzer(logger).analyze(dictionary, previous);
+        // then
+        long unaffected = dictionary.encode(UNAFFECTED_WORD);
+        assertEquals(previous.getExpectedAttempts(previous.indexOf(unaffected)), stats.getExpectedAttempts(stats.indexOf(unaffected)),
+                "Незатронутое слово не должно пересчитываться");
+        long neighbour = dictionary.encode(NEIGHBOUR_WORD);
+        assertNotEquals(previous.getExpectedAttempts(previous.indexOf(neighbour)), stats.getExpectedAttempts(stats.indexOf(neighbour)),
+                "Сосед добавленного слова должен пересчитываться");
+        assertTrue(stats.indexOf(dictionary.encode(ADDED_WORD)) >= 0, "Добавленное слово должно получить статистику");
+    }
+
+    @Test
+    @DisplayName("Проверка, что уровни сложности делят слова по среднему числу попыток")
+    public void difficultyTiers_randomIndex_wordsOfRequestedTier() throws IOException {
+        // given
+        DifficultyStats stats = writeFakeStats();
+        DifficultyTiers tiers = DifficultyTiers.of(dictionary, stats);
+        Random random = new Random(1);
+        // then
+        for (DifficultyTiers.Difficulty difficulty : DifficultyTiers.Difficulty.values()) {
+            assertEquals(WORDS.size() / 3, tiers.size(difficulty), "Уровни должны быть одного размера");
+            for (int i = 0; i < SAMPLES; i++) {
+                long code = dictionary.codeAt(tiers.randomIndex(difficulty, random));
+                int rank = stats.indexOf(code); // номер слова по алфавиту совпадает с его сложностью
+                assertEquals(difficulty.ordinal(), rank / (WORDS.size() / 3), "Слово не того уровня сложности");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что история сыгранных слов учитывается в пределах уровня сложности")
+    public void reset_playedWordsWithDifficulty_noRepeatsWithinTier() throws IOException, WordleGameException {
+        // given
+        DifficultyStats stats = writeFakeStats();
+        DifficultyTiers.Difficulty difficulty = DifficultyTiers.Difficulty.HARD;
+        int tierSize = WORDS.size() / 3;
+        PlayedWordsRepository repository = new PlayedWordsRepository(logger, PLAYED_FILE_NAME, dictionary);
+        WordleGame game = new WordleGame(logger, dictionary);
+        game.setDifficulty(stats, difficulty);
+        game.setPlayedWords(repository, USERNAME_1);
+        Set<String> answers = new HashSet<>();
+        answers.add(game.getAnswer());
+        // when
+        for (int i = 1; i < tierSize; i++) {
+            game.reset();
+            answers.add(game.getAnswer());
+        }
+        String lastAnswer = game.getAnswer();
+        game.reset();
+        // then
+        assertEquals(tierSize, answers.size(), "За круг должны быть загаданы все слова уровня без повторов");
+        assertTrue(answers.contains(game.getAnswer()), "Новый круг должен начинаться словом того же уровня");
+        for (String answer : answers) {
+            int rank = stats.indexOf(dictionary.encode(answer));
+            assertEquals(difficulty.ordinal(), rank / tierSize, "Слово не того уровня сложности");
+        }
+        assertNotEquals(lastAnswer, game.getAnswer(), "Новый круг не должен начинаться с последнего ответа");
+    }
+}
@@ -0,0 +1,47 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.client.game.Feedback;
+import ru.yandex.practicum.client.game.FeedbackBatch;
+import ru.yandex.practicum.client.game.WordleDictionary;
+import ru.yandex.practicum.client.game.WordleDictionaryBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.yandex.practicum.TestsStubs.VALID_CHARS_REGEX;
+import static ru.yandex.practicum.TestsStubs.WORDS_LENGTH;
+
+class FeedbackBatchTest {
+    // повторяющиеся буквы и в ответах, и в догадках
+    private static final List<String> WORDS = List.of("барон", "ррара", "пышки", "арбуз", "ааабв", "бвгаа", "шишка", "шашка", "кашка");
+
+    private WordleDictionary dictionary;
+    private FeedbackBatch batch;
+
+    @BeforeEach
+    void init() {
+        // given
+        dictionary = new WordleDictionaryBuilder(WORDS_LENGTH, VALID_CHARS_REGEX).addAll(WORDS).build();
+        batch = dictionary.getFeedbackBatch();
+    }
+
+    @Test
+    @DisplayName("Проверка, что пакетный расчет совпадает с поштучным для всех пар слов")
+    void score_allPairs_sameAsFeedback() {
+        // given
+        FeedbackBatch.Scorer scorer = batch.newScorer();
+        int[] feedbacks = new int[batch.size()];
+        for (int guess = 0; guess < dictionary.size(); guess++) {
+            // when
+            scorer.score(dictionary.codeAt(guess), feedbacks);
+            // then
+            for (int answer = 0; answer < dictionary.size(); answer++) {
+                assertEquals(Feedback.compute(dictionary.codeAt(answer), dictionary.codeAt(guess), WORDS_LENGTH), feedbacks[answer],
+                        "Неверный ответ для " + dictionary.decode(dictionary.codeAt(answer)) + "/" + dictionary.decode(dictionary.codeAt(guess)));
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.*;
+import ru.yandex.practicum.client.game.Feedback;
+import ru.yandex.practicum.client.game.FeedbackMatrix;
+import ru.yandex.practicum.client.game.WordleDictionary;
+import ru.yandex.practicum.client.game.WordleDictionaryBuilder;
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.yandex.practicum.TestsStubs.VALID_CHARS_REGEX;
+import static ru.yandex.practicum.TestsStubs.WORDS_LENGTH;
+
+public class FeedbackMatrixTest {
+    private static final String TEMP_DIR_PREFIX = "wordle";
+    private static final List<String> GUESSES = List.of("арбуз", "автор", "вишня", "груша", "барон", "ррара", "пышки");
+    private static final List<String> ANSWERS = List.of("барон", "груша", "автор");
+    private static final List<String> OTHER_ANSWERS = List.of("барон", "вишня");
+    private static final List<String> ANSWERS_WITH_UNKNOWN = List.of("груша", "лимон", "барон"); // лимона нет среди догадок
+    private static final String UNKNOWN_ANSWER = "лимон";
+    private static final int LONG_WORDS_LENGTH = 6;
+    private static final List<String> LONG_WORDS = List.of("ананас", "кабина", "абажур", "заказа", "рапира");
+
+    private Logger logger;
+    private Path cacheDir;
+
+    @BeforeEach
+    public void init() throws IOException {
+        logger = new Logger(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        // given
+        cacheDir = Files.createTempDirectory(TEMP_DIR_PREFIX);
+    }
+
+    @AfterEach
+    public void cleanUp() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(cacheDir);
+    }
+
+    private static WordleDictionary createDictionary(int wordLength, List<String> words) {
+        return new WordleDictionaryBuilder(wordLength, VALID_CHARS_REGEX).addAll(words).build();
+    }
+
+    private static void assertMatchesFeedback(FeedbackMatrix matrix, WordleDictionary guesses, WordleDictionary answers) {
+        for (int guess = 0; guess < guesses.size(); guess++) {
+            for (int answer = 0; answer < answers.size(); answer++) {
+                int expected = Feedback.compute(answers.codeAt(answer), guesses.codeAt(guess), guesses.getWordLength());
+                assertEquals(expected, matrix.get(guess, answer), "Ответ в матрице отличается от Feedback.compute для "
+                        + guesses.decode(guesses.codeAt(guess)) + "/" + answers.decode(answers.codeAt(answer)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что матрица совпадает с поштучным расчетом ответов")
+    public void compute_sameAsFeedback() {
+        // given
+        WordleDictionary guesses = createDictionary(WORDS_LENGTH, GUESSES);
+        WordleDictionary answers = createDictionary(WORDS_LENGTH, ANSWERS);
+        // when
+        FeedbackMatrix matrix = FeedbackMatrix.compute(guesses, answers);
+        // then
+        assertEquals(guesses.size(), matrix.getGuessesCount(), "Строка на каждое допустимое слово");
+        assertEquals(answers.size(), matrix.getAnswersCount(), "Столбец на каждое загадываемое слово");
+        assertEquals((long) guesses.size() * answers.size(), matrix.sizeInBytes(), "Для 5 букв по байту на ответ");
+        assertMatchesFeedback(matrix, guesses, answers);
+    }
+
+    @Test
+    @DisplayName("Проверка, что матрица сохраняется в кеш и повторно отображается из него")
+    public void open_twice_mappedFromCache() throws IOException {
+        // given
+        WordleDictionary guesses = createDictionary(WORDS_LENGTH, GUESSES);
+        WordleDictionary answers = createDictionary(WORDS_LENGTH, ANSWERS);
+        FeedbackMatrix.open(logger, cacheDir.toString(), guesses, answers);
+        long modified = singleCacheFile().toFile().lastModified();
+        // when
+        FeedbackMatrix cached = FeedbackMatrix.open(logger, cacheDir.toString(), guesses, answers);
+        // then
+        assertEquals(modified, singleCacheFile().toFile().lastModified(), "Файл кеша не должен перезаписываться");
+        assertTrue(cached.isFor(guesses, answers), "Матрица должна подходить словарям");
+        assertMatchesFeedback(cached, guesses, answers);
+    }
+
+    @Test
+    @DisplayName("Проверка, что для другого словаря матрица считается в отдельный файл кеша")
+    public void open_otherAnswers_newCacheFile() throws IOException {
+        // given
+        WordleDictionary guesses = createDictionary(WORDS_LENGTH, GUESSES);
+        WordleDictionary answers = createDictionary(WORDS_LENGTH, ANSWERS);
+        WordleDictionary otherAnswers = createDictionary(WORDS_LENGTH, OTHER_ANSWERS);
+        FeedbackMatrix matrix = FeedbackMatrix.open(logger, cacheDir.toString(), guesses, answers);
+        // when
+        FeedbackMatrix other = FeedbackMatrix.open(logger, cacheDir.toString(), guesses, otherAnswers);
+        // then
+        assertFalse(matrix.isFor(guesses, otherAnswers), "Матрица не подходит другому словарю ответов");
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertEquals(2, files.count(), "Для каждой пары словарей свой файл кеша");
+        }
+        assertMatchesFeedback(other, guesses, otherAnswers);
+    }
+
+    @Test
+    @DisplayName("Проверка, что для слов длиннее 5 букв ответы не обрезаются до байта")
+    public void open_longWords_twoBytesPerFeedback() throws IOException {
+        // given
+        WordleDictionary words = createDictionary(LONG_WORDS_LENGTH, LONG_WORDS);
+        // when
+        FeedbackMatrix matrix = FeedbackMatrix.open(logger, cacheDir.toString(), words, words);
+        // then
+        assertEquals(2L * words.size() * words.size(), matrix.sizeInBytes(), "3^6 ответов не помещаются в байт");
+        assertMatchesFeedback(matrix, words, words);
+        assertEquals(Feedback.solved(LONG_WORDS_LENGTH), matrix.get(0, 0), "Слово совпадает с собой");
+    }
+
+    @Test
+    @DisplayName("Проверка, что строки матрицы идут по допустимым словам, даже если загадываемого слова среди них нет")
+    public void compute_answerNotAmongGuesses_rowsByGuesses() {
+        // given
+        WordleDictionary guesses = createDictionary(WORDS_LENGTH, GUESSES);
+        WordleDictionary answers = createDictionary(WORDS_LENGTH, ANSWERS_WITH_UNKNOWN);
+        // when
+        FeedbackMatrix matrix = FeedbackMatrix.compute(guesses, answers);
+        // then
+        assertEquals(guesses.size(), matrix.getGuessesCount(), "Строка нужна каждому допустимому слову");
+        assertMatchesFeedback(matrix, guesses, answers);
+        assertTrue(guesses.indexOf(answers.encode(UNKNOWN_ANSWER)) < 0, "Загадываемого слова нет среди допустимых");
+        assertFalse(matrix.isFor(answers, answers), "Матрица посчитана для других догадок");
+    }
+
+    private Path singleCacheFile() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            List<Path> cacheFiles = files.toList();
+            assertEquals(1, cacheFiles.size(), "Ожидался один файл кеша");
+            return cacheFiles.get(0);
+        }
+    }
+}
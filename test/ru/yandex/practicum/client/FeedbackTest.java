@@ -0,0 +1,99 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.client.game.Feedback;
+import ru.yandex.practicum.client.game.WordleDictionary;
+import ru.yandex.practicum.client.game.WordleDictionaryBuilder;
+import ru.yandex.practicum.client.game.WordleDictionaryLoader;
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.yandex.practicum.TestsStubs.*;
+
+class FeedbackTest {
+    private static final String ANSWER = "барон";
+    private static final String GUESS_REPEATED_LETTERS = "ррара"; // в ответе по одной р и а, обе не на своих местах
+    private static final String GUESS_REPEATED_LETTERS_PATTERN = "^-^--";
+    private static final String GUESS_NO_COMMON_LETTERS = "пышки";
+    private static final String GUESS_NO_COMMON_LETTERS_PATTERN = "-----";
+    private static final int FEEDBACK_VALUES_COUNT = 243;
+    // буква трижды в незеленых позициях ответа
+    private static final List<String> REPEATED_LETTER_WORDS = List.of("ааабв", "бвгаа", "аабаа", "баааа", "вбаба", "ааваб");
+
+    private WordleDictionary dictionary;
+
+    @BeforeEach
+    void init() {
+        // given
+        dictionary = new WordleDictionaryBuilder(WORDS_LENGTH, VALID_CHARS_REGEX).build();
+    }
+
+    private int compute(String answer, String guess) {
+        return Feedback.compute(dictionary.encode(answer), dictionary.encode(guess), WORDS_LENGTH);
+    }
+
+    @Test
+    @DisplayName("Проверка, что повторяющиеся буквы подсвечиваются не больше, чем их есть в ответе")
+    void compute_repeatedLetters_highlightedOncePerAnswerLetter() {
+        // when
+        int feedback = compute(ANSWER, GUESS_REPEATED_LETTERS);
+        // then
+        assertEquals(GUESS_REPEATED_LETTERS_PATTERN, Feedback.render(feedback, WORDS_LENGTH), "Неверный ответ на слово");
+        assertEquals(Feedback.WRONG_PLACE, Feedback.digitAt(feedback, 0, WORDS_LENGTH), "Первая р - не на своем месте");
+        assertEquals(Feedback.NOT_IN_WORD, Feedback.digitAt(feedback, 1, WORDS_LENGTH), "Вторая р уже учтена");
+        assertEquals(Feedback.WRONG_PLACE, Feedback.digitAt(feedback, 2, WORDS_LENGTH), "Первая а - не на своем месте");
+        assertEquals(GUESS_NO_COMMON_LETTERS_PATTERN, Feedback.render(compute(ANSWER, GUESS_NO_COMMON_LETTERS), WORDS_LENGTH),
+                "Неверный ответ на слово без общих букв");
+    }
+
+    @Test
+    @DisplayName("Проверка кода отгаданного слова и количества возможных ответов")
+    void solved_allRightPlaces() {
+        // then
+        assertEquals(Feedback.solved(WORDS_LENGTH), compute(ANSWER, ANSWER), "Слово совпадает с ответом");
+        assertEquals(FEEDBACK_VALUES_COUNT, Feedback.valuesCount(WORDS_LENGTH), "Для 5 букв 3^5 ответов");
+        assertEquals("+".repeat(WORDS_LENGTH), Feedback.render(Feedback.solved(WORDS_LENGTH), WORDS_LENGTH), "Все буквы на своих местах");
+    }
+
+    @Test
+    @DisplayName("Проверка, что быстрый расчет совпадает с побуквенным для всех пар слов словаря")
+    void compute_wholeDictionary_sameAsReference() throws IOException {
+        // given
+        WordleDictionary words = new WordleDictionaryLoader(new Logger(Writer.nullWriter()))
+                .loadWords(WORDS_FILE, WORDS_LENGTH, VALID_CHARS_REGEX);
+        // when
+        long mismatches = 0;
+        for (int answer = 0; answer < words.size(); answer++) {
+            long answerCode = words.codeAt(answer);
+            for (int guess = 0; guess < words.size(); guess++) {
+                long guessCode = words.codeAt(guess);
+                if (Feedback.compute(answerCode, guessCode, WORDS_LENGTH) != Feedback.computeReference(answerCode, guessCode, WORDS_LENGTH)) {
+                    mismatches++;
+                }
+            }
+        }
+        // then
+        assertEquals(0, mismatches, "Ответы расходятся с эталонным расчетом");
+    }
+
+    @Test
+    @DisplayName("Проверка, что буква, повторенная в ответе трижды, считается так же, как побуквенно")
+    void compute_letterThreeTimes_sameAsReference() {
+        for (String answer : REPEATED_LETTER_WORDS) {
+            for (String guess : REPEATED_LETTER_WORDS) {
+                // when
+                long answerCode = dictionary.encode(answer);
+                long guessCode = dictionary.encode(guess);
+                // then
+                assertEquals(Feedback.computeReference(answerCode, guessCode, WORDS_LENGTH), Feedback.compute(answerCode, guessCode, WORDS_LENGTH),
+                        "Неверный ответ для " + answer + "/" + guess);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.client.exception.WordleGameException;
+import ru.yandex.practicum.client.game.Feedback;
+import ru.yandex.practicum.client.game.GuessConstraints;
+import ru.yandex.practicum.client.game.WordleDictionary;
+import ru.yandex.practicum.client.game.WordleDictionaryBuilder;
+import ru.yandex.practicum.client.game.WordleGame;
+import ru.yandex.practicum.client.util.Logger;
+import ru.yandex.practicum.client.util.WordUtil;
+
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.yandex.practicum.TestsStubs.VALID_CHARS_REGEX;
+import static ru.yandex.practicum.TestsStubs.WORDS_LENGTH;
+
+class GuessConstraintsTest {
+    // повторяющиеся буквы и в ответах, и в догадках
+    private static final List<String> WORDS = List.of("барон", "ррара", "пышки", "арбуз", "ааабв", "бвгаа", "шишка", "шашка",
+            "кашка", "рарог", "барак", "аорта", "рабат");
+    private static final List<String> GUESSES = List.of("ррара", "шашка", "ааабв");
+    private static final String ANSWER = "барак";
+
+    private WordleDictionary dictionary;
+    private GuessConstraints constraints;
+
+    @BeforeEach
+    void init() {
+        // given
+        dictionary = new WordleDictionaryBuilder(WORDS_LENGTH, VALID_CHARS_REGEX).addAll(WORDS).build();
+        constraints = new GuessConstraints(WORDS_LENGTH);
+    }
+
+    private boolean matches(long code) {
+        return constraints.matches(code, WordUtil.letterMask(code, WORDS_LENGTH));
+    }
+
+    @Test
+    @DisplayName("Проверка, что после каждой догадки подходят ровно слова с теми же ответами на все догадки")
+    void apply_severalGuesses_sameAsFeedback() {
+        long answerCode = dictionary.encode(ANSWER);
+        for (int guessesCount = 1; guessesCount <= GUESSES.size(); guessesCount++) {
+            // when
+            long guessCode = dictionary.encode(GUESSES.get(guessesCount - 1));
+            constraints.apply(guessCode, Feedback.compute(answerCode, guessCode, WORDS_LENGTH));
+            // then
+            for (int index = 0; index < dictionary.size(); index++) {
+                long code = dictionary.codeAt(index);
+                boolean consistent = true;
+                for (String guess : GUESSES.subList(0, guessesCount)) {
+                    long previousCode = dictionary.encode(guess);
+                    consistent &= Feedback.compute(code, previousCode, WORDS_LENGTH) == Feedback.compute(answerCode, previousCode, WORDS_LENGTH);
+                }
+                assertEquals(consistent, matches(code), "Неверно отфильтровано слово " + dictionary.decode(code)
+                        + " после догадок " + GUESSES.subList(0, guessesCount));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что кандидаты игры после каждой догадки - ровно слова, подходящие под знания")
+    void matches_afterGameGuesses_sameAsGameCandidates() throws WordleGameException {
+        // given
+        WordleGame game = new WordleGame(new Logger(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)), dictionary);
+        game.setAnswer(ANSWER);
+        long answerCode = dictionary.encode(ANSWER);
+        boolean[] candidates = new boolean[dictionary.size()];
+        for (String guess : GUESSES) {
+            // when
+            long guessCode = dictionary.encode(guess);
+            game.checkWord(guess);
+            constraints.apply(guessCode, Feedback.compute(answerCode, guessCode, WORDS_LENGTH));
+            game.guessWord((hintDictionary, left, deadline) -> {
+                for (int index = 0; index < candidates.length; index++) {
+                    candidates[index] = left.contains(index);
+                }
+                return left.nextIndex(0);
+            }, WordleGame.NO_BUDGET);
+            // then
+            for (int index = 0; index < dictionary.size(); index++) {
+                long code = dictionary.codeAt(index);
+                assertEquals(matches(code), candidates[index], "Игра и знания расходятся на слове " + dictionary.decode(code)
+                        + " после догадки " + guess);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что серая копия буквы ограничивает ее количество, а желтые - задают минимум")
+    void apply_repeatedLetters_countsBounded() {
+        // given
+        long guessCode = dictionary.encode("ррара");
+        int letterR = dictionary.getAlphabet().letterId('р');
+        int letterA = dictionary.getAlphabet().letterId('а');
+        // when
+        constraints.apply(guessCode, Feedback.compute(dictionary.encode(ANSWER), guessCode, WORDS_LENGTH));
+        // then
+        assertEquals(1, constraints.getMinCount(letterR), "В ответе есть одна р");
+        assertEquals(1, constraints.getMaxCount(letterR), "Вторая р серая - больше р в ответе нет");
+        assertEquals(2, constraints.getMinCount(letterA), "Обе а желтые - в ответе хотя бы две а");
+        assertEquals(WORDS_LENGTH, constraints.getMaxCount(letterA), "Серых а не было - количество а не ограничено");
+        assertTrue(matches(dictionary.encode(ANSWER)), "Ответ должен подходить");
+        assertFalse(matches(dictionary.encode("рарог")), "Две р в слове уже невозможны");
+    }
+
+    @Test
+    @DisplayName("Проверка, что количество букв проверяется отдельно от позиций и наличия")
+    void hasAllowedCounts_repeatedLetters_onlyCountsChecked() {
+        // given
+        long guessCode = dictionary.encode("ррара");
+        constraints.apply(guessCode, Feedback.compute(dictionary.encode(ANSWER), guessCode, WORDS_LENGTH));
+        long counted = constraints.getCountedLetters();
+        // then
+        assertTrue(constraints.hasAllowedCounts(dictionary.encode(ANSWER), counted), "У ответа допустимое количество букв");
+        assertFalse(constraints.hasAllowedCounts(dictionary.encode("рарог"), counted), "Две р в слове уже невозможны");
+        assertTrue(constraints.hasAllowedCounts(dictionary.encode("арбуз"), 0), "Без букв с границами подходит любое слово");
+    }
+
+    @Test
+    @DisplayName("Проверка, что reset забывает все знания")
+    void reset_forgetsKnowledge() {
+        // given
+        long guessCode = dictionary.encode("пышки");
+        constraints.apply(guessCode, Feedback.compute(dictionary.encode(ANSWER), guessCode, WORDS_LENGTH));
+        assertFalse(matches(guessCode), "Догадка с другим ответом не подходит");
+        // when
+        constraints.reset();
+        // then
+        for (int index = 0; index < dictionary.size(); index++) {
+            assertTrue(matches(dictionary.codeAt(index)), "Без знаний подходит любое слово");
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.client.exception.WordleGameEmptyWordsCollectionException;
+import ru.yandex.practicum.client.game.*;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.yandex.practicum.TestsStubs.VALID_CHARS_REGEX;
+import static ru.yandex.practicum.TestsStubs.WORDS_LENGTH;
+
+class HintStrategyTest {
+    private static final List<String> WORDS = List.of("барон", "ррара", "пышки", "арбуз", "ааабв", "бвгаа", "шишка", "шашка",
+            "кашка", "рарог", "барак", "аорта", "рабат", "автор", "вишня", "груша");
+    private static final String GUESS = "шашка";
+    private static final String ANSWER = "кашка";
+    // кандидаты отличаются только первой буквой, а догадка не из кандидатов проверяет сразу четыре первые буквы
+    private static final List<String> SPLIT_WORDS = List.of("бочка", "дочка", "кочка", "мочка", "бдкмы");
+    private static final String SPLIT_GUESS = "бдкмы";
+    private static final double COST_DELTA = 1e-9;
+
+    private WordleDictionary dictionary;
+    private CandidateSet candidates;
+
+    @BeforeEach
+    void init() {
+        // given
+        dictionary = createDictionary(WORDS);
+        candidates = new CandidateSet(dictionary.size());
+        long guessCode = dictionary.encode(GUESS);
+        int feedback = Feedback.compute(dictionary.encode(ANSWER), guessCode, WORDS_LENGTH);
+        for (int index = 0; index < dictionary.size(); index++) {
+            if (Feedback.compute(dictionary.codeAt(index), guessCode, WORDS_LENGTH) != feedback) candidates.remove(index);
+        }
+    }
+
+    private static WordleDictionary createDictionary(List<String> words) {
+        return new WordleDictionaryBuilder(WORDS_LENGTH, VALID_CHARS_REGEX).addAll(words).build();
+    }
+
+    // Размеры корзин кандидатов по ответу на догадку
+    private static int[] histogram(WordleDictionary dictionary, CandidateSet candidates, int guess) {
+        int[] histogram = new int[Feedback.valuesCount(WORDS_LENGTH)];
+        for (int index = candidates.nextIndex(0); index >= 0; index = candidates.nextIndex(index + 1)) {
+            histogram[Feedback.compute(dictionary.codeAt(index), dictionary.codeAt(guess), WORDS_LENGTH)]++;
+        }
+        return histogram;
+    }
+
+    private static double entropySpread(int[] histogram) {
+        double spread = 0;
+        for (int size : histogram) {
+            spread += size > 0 ? size * Math.log(size) : 0;
+        }
+        return spread;
+    }
+
+    private static double largestBucket(int[] histogram) {
+        int largest = 0;
+        for (int size : histogram) {
+            largest = Math.max(largest, size);
+        }
+        return largest;
+    }
+
+    private static double squares(int[] histogram) {
+        double squares = 0;
+        for (int size : histogram) {
+            squares += (double) size * size;
+        }
+        return squares;
+    }
+
+    private static void assertBest(WordleDictionary dictionary, CandidateSet candidates, int best, ToDoubleFunction<int[]> cost) {
+        double bestCost = cost.applyAsDouble(histogram(dictionary, candidates, best));
+        for (int guess = 0; guess < dictionary.size(); guess++) {
+            assertTrue(bestCost <= cost.applyAsDouble(histogram(dictionary, candidates, guess)) + COST_DELTA,
+                    "Догадка " + dictionary.decode(dictionary.codeAt(guess)) + " делит кандидатов лучше подсказки");
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что подсказка по энтропии дает наибольшую энтропию разбиения оставшихся кандидатов")
+    void entropy_someCandidates_maxEntropy() {
+        // when
+        int best = new EntropyHintStrategy().suggest(dictionary, candidates, HintStrategy.NO_DEADLINE);
+        // then
+        assertBest(dictionary, candidates, best, HintStrategyTest::entropySpread);
+    }
+
+    @Test
+    @DisplayName("Проверка, что первая подсказка по энтропии считается по всему словарю и запоминается")
+    void entropy_allCandidates_openingGuess() {
+        // given
+        CandidateSet all = new CandidateSet(dictionary.size());
+        // when
+        int best = new EntropyHintStrategy().suggest(dictionary, all, HintStrategy.NO_DEADLINE);
+        // then
+        assertEquals(dictionary.getOpeningGuess(), best, "Первая подсказка должна браться из словаря");
+        assertBest(dictionary, all, best, HintStrategyTest::entropySpread);
+    }
+
+    @Test
+    @DisplayName("Проверка, что подсказка по минимаксу дает наименьшую наибольшую корзину")
+    void minimax_someCandidates_smallestLargestBucket() {
+        // when
+        int best = new MinimaxHintStrategy().suggest(dictionary, candidates, HintStrategy.NO_DEADLINE);
+        // then
+        assertBest(dictionary, candidates, best, HintStrategyTest::largestBucket);
+    }
+
+    @Test
+    @DisplayName("Проверка, что подсказка по ожидаемому размеру оставляет в среднем меньше всего кандидатов")
+    void expectedSize_someCandidates_smallestExpectedSize() {
+        // when
+        int best = new ExpectedSizeHintStrategy().suggest(dictionary, candidates, HintStrategy.NO_DEADLINE);
+        // then
+        assertBest(dictionary, candidates, best, HintStrategyTest::squares);
+    }
+
+    @Test
+    @DisplayName("Проверка, что подсказкой может быть слово не из кандидатов, если оно лучше их делит")
+    void partition_nonCandidateSplitsBetter_nonCandidateChosen() {
+        // given
+        WordleDictionary splitDictionary = createDictionary(SPLIT_WORDS);
+        CandidateSet splitCandidates = new CandidateSet(splitDictionary.size());
+        splitCandidates.remove(splitDictionary.indexOf(splitDictionary.encode(SPLIT_GUESS)));
+        for (HintStrategy strategy : List.of(new EntropyHintStrategy(), new MinimaxHintStrategy(), new ExpectedSizeHintStrategy())) {
+            // when
+            int best = strategy.suggest(splitDictionary, splitCandidates, HintStrategy.NO_DEADLINE);
+            // then
+            assertEquals(SPLIT_GUESS, splitDictionary.decode(splitDictionary.codeAt(best)),
+                    "Каждый кандидат дает свой ответ только на слово вне кандидатов: " + strategy.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что по истекшему сроку подсказка все равно выдается из кандидатов")
+    void partition_expiredDeadline_candidateReturned() {
+        // given
+        long deadline = System.nanoTime() - 1;
+        for (HintStrategy strategy : List.of(new EntropyHintStrategy(), new MinimaxHintStrategy(), new ExpectedSizeHintStrategy())) {
+            // when
+            int best = strategy.suggest(dictionary, candidates, deadline);
+            // then
+            assertTrue(candidates.contains(best), "Без оценок подсказка - кандидат: " + strategy.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что подсказкой может быть допустимое слово, которого нет среди загадываемых")
+    void partition_separateGuesses_allowedOnlyGuessChosen() throws WordleGameEmptyWordsCollectionException {
+        // given
+        WordleDictionary guesses = createDictionary(SPLIT_WORDS);
+        WordleDictionary answers = createDictionary(SPLIT_WORDS.stream().filter(word -> !word.equals(SPLIT_GUESS)).toList());
+        CandidateSet all = new CandidateSet(answers.size());
+        for (HintStrategy strategy : List.of(new EntropyHintStrategy(), new MinimaxHintStrategy(), new ExpectedSizeHintStrategy())) {
+            // when
+            long best = strategy.suggestCode(answers, all, guesses, HintStrategy.NO_DEADLINE, null);
+            // then
+            assertEquals(SPLIT_GUESS, answers.decode(best),
+                    "Догадка из допустимых слов делит кандидатов лучше всех: " + strategy.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что с матрицей ответов подсказка та же, что и с расчетом ответов")
+    void partition_withFeedbackMatrix_sameHint() throws WordleGameEmptyWordsCollectionException {
+        // given
+        WordleDictionary guesses = createDictionary(SPLIT_WORDS);
+        WordleDictionary answers = createDictionary(SPLIT_WORDS.stream().filter(word -> !word.equals(SPLIT_GUESS)).toList());
+        CandidateSet all = new CandidateSet(answers.size());
+        FeedbackMatrix feedback = FeedbackMatrix.compute(dictionary, dictionary);
+        FeedbackMatrix splitFeedback = FeedbackMatrix.compute(guesses, answers);
+        for (HintStrategy strategy : List.of(new EntropyHintStrategy(), new MinimaxHintStrategy(), new ExpectedSizeHintStrategy())) {
+            // when
+            long best = strategy.suggestCode(dictionary, candidates, dictionary, HintStrategy.NO_DEADLINE, feedback);
+            long splitBest = strategy.suggestCode(answers, all, guesses, HintStrategy.NO_DEADLINE, splitFeedback);
+            // then
+            assertEquals(dictionary.codeAt(strategy.suggest(dictionary, candidates, HintStrategy.NO_DEADLINE)), best,
+                    "Матрица не должна менять подсказку: " + strategy.getClass().getSimpleName());
+            assertEquals(strategy.suggestCode(answers, all, guesses, HintStrategy.NO_DEADLINE, null), splitBest,
+                    "Матрица отдельных словарей не должна менять подсказку: " + strategy.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что случайная подсказка - кандидат, который остается среди кандидатов")
+    void random_someCandidates_candidateKept() throws WordleGameEmptyWordsCollectionException {
+        // given
+        int size = candidates.size();
+        // when
+        int best = new RandomHintStrategy().suggest(dictionary, candidates, HintStrategy.NO_DEADLINE);
+        // then
+        assertTrue(candidates.contains(best), "Подсказка должна быть кандидатом");
+        assertEquals(size, candidates.size(), "Подсказка не должна убирать слово из кандидатов");
+    }
+}
@@ -0,0 +1,131 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.*;
+import ru.yandex.practicum.client.exception.WordleGameException;
+import ru.yandex.practicum.client.game.CompressedBitmap;
+import ru.yandex.practicum.client.game.PlayedWordsRepository;
+import ru.yandex.practicum.client.game.WordleDictionary;
+import ru.yandex.practicum.client.game.WordleDictionaryBuilder;
+import ru.yandex.practicum.client.game.WordleGame;
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.yandex.practicum.TestsStubs.*;
+
+public class PlayedWordsRepositoryTest {
+    private static final String TEMP_DIR_PREFIX = "wordle";
+    private static final List<String> WORDS = List.of("арбуз", "автор", "вишня", "груша");
+    private static final List<String> OTHER_WORDS = List.of("арбуз", "банан");
+    // те же слова в другом порядке и новое слово: индексы сыгранных слов меняются
+    private static final List<String> RELOADED_WORDS = List.of("банан", "груша", "вишня", "автор", "арбуз");
+    private static final String OTHER_USERNAME = "LOL";
+    private static final int PLAYED_INDEX = 2;
+
+    private Logger logger;
+    private Path playedFile;
+    private WordleDictionary dictionary;
+
+    @BeforeEach
+    public void init() throws IOException {
+        logger = new Logger(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        // given
+        playedFile = Files.createTempDirectory(TEMP_DIR_PREFIX).resolve(PlayedWordsRepository.fileName("ru", WORDS_LENGTH));
+        dictionary = createDictionary(WORDS);
+    }
+
+    @AfterEach
+    public void cleanUp() throws IOException {
+        Files.deleteIfExists(playedFile);
+    }
+
+    private WordleDictionary createDictionary(List<String> words) {
+        return new WordleDictionaryBuilder(WORDS_LENGTH, VALID_CHARS_REGEX).addAll(words).build();
+    }
+
+    @Test
+    @DisplayName("Проверка, что сыгранные слова сохраняются и загружаются по пользователям")
+    public void save_load_samePlayedWords() throws IOException {
+        // given
+        PlayedWordsRepository repository = new PlayedWordsRepository(logger, playedFile.toString(), dictionary);
+        repository.getPlayedWords(USERNAME_1).add(PLAYED_INDEX);
+        repository.getPlayedWords(OTHER_USERNAME);
+        // when
+        repository.save();
+        PlayedWordsRepository restored = new PlayedWordsRepository(logger, playedFile.toString(), dictionary);
+        restored.load();
+        // then
+        assertEquals(2, restored.getUsersCount(), "Неверное количество пользователей");
+        assertTrue(restored.getPlayedWords(USERNAME_1).contains(PLAYED_INDEX), "Сыгранное слово должно сохраниться");
+        assertTrue(restored.getPlayedWords(OTHER_USERNAME).isEmpty(), "У другого пользователя нет сыгранных слов");
+    }
+
+    @Test
+    @DisplayName("Проверка, что история другого словаря не используется")
+    public void load_otherDictionary_emptyHistory() throws IOException {
+        // given
+        PlayedWordsRepository repository = new PlayedWordsRepository(logger, playedFile.toString(), dictionary);
+        repository.getPlayedWords(USERNAME_1).add(PLAYED_INDEX);
+        repository.save();
+        // when
+        PlayedWordsRepository other = new PlayedWordsRepository(logger, playedFile.toString(), createDictionary(OTHER_WORDS));
+        other.load();
+        // then
+        assertEquals(0, other.getUsersCount(), "История другого словаря не должна загружаться");
+    }
+
+    @Test
+    @DisplayName("Проверка, что ответы не повторяются, пока не сыграны все слова")
+    public void reset_withPlayedWords_noRepeatsUntilAllPlayed() throws WordleGameException {
+        // given
+        PlayedWordsRepository repository = new PlayedWordsRepository(logger, playedFile.toString(), dictionary);
+        CompressedBitmap playedWords = repository.getPlayedWords(USERNAME_1);
+        WordleGame game = new WordleGame(logger, dictionary);
+        game.setPlayedWords(repository, USERNAME_1);
+        Set<String> answers = new HashSet<>();
+        answers.add(game.getAnswer());
+        // when
+        for (int i = 1; i < WORDS.size(); i++) {
+            game.reset();
+            answers.add(game.getAnswer());
+        }
+        String lastAnswer = game.getAnswer();
+        game.reset();
+        // then
+        assertEquals(WORDS.size(), answers.size(), "За круг должны быть загаданы все слова без повторов");
+        assertNotEquals(lastAnswer, game.getAnswer(), "Новый круг не должен начинаться с последнего ответа");
+        assertEquals(2, playedWords.cardinality(), "Новый круг помнит только прошлый и текущий ответы");
+    }
+
+    @Test
+    @DisplayName("Проверка, что после перезагрузки словаря история переводится на индексы новой версии")
+    public void reset_dictionaryReloaded_playedWordsRemapped() throws WordleGameException, IOException {
+        // given
+        PlayedWordsRepository repository = new PlayedWordsRepository(logger, playedFile.toString(), dictionary);
+        AtomicReference<WordleDictionary> source = new AtomicReference<>(dictionary);
+        WordleGame game = new WordleGame(logger, source::get);
+        game.setPlayedWords(repository, USERNAME_1);
+        String played = game.getAnswer();
+        WordleDictionary reloaded = createDictionary(RELOADED_WORDS);
+        // when
+        source.set(reloaded);
+        game.reset();
+        repository.save();
+        PlayedWordsRepository restored = new PlayedWordsRepository(logger, playedFile.toString(), reloaded);
+        restored.load();
+        // then
+        CompressedBitmap playedWords = restored.getPlayedWords(USERNAME_1);
+        assertEquals(2, playedWords.cardinality(), "Должны сохраниться прошлый и текущий ответы");
+        assertTrue(playedWords.contains(reloaded.indexOf(reloaded.encode(played))), "Прошлый ответ должен перейти на новый индекс");
+        assertTrue(playedWords.contains(reloaded.indexOf(reloaded.encode(game.getAnswer()))), "Текущий ответ должен быть отмечен");
+    }
+}
@@ -2,20 +2,15 @@ package ru.yandex.practicum.client;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.client.game.WordleAlphabet;
+import ru.yandex.practicum.client.util.WordCodec;
 import ru.yandex.practicum.client.util.WordUtil;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.Set;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 class WordUtilTest {
 
-    // --- Magic numbers ---
-    private static final int XYZ_COUNT_IN_ABC = 0;
-    private static final int A_COUNT_IN_ABA = 2;
-    private static final int A_AND_B_COUNT_IN_ABACA = 4;
+    private static final WordleAlphabet LATIN = WordleAlphabet.forRegex("[a-zA-Z]+");
 
     // --- Test words / strings ---
     private static final String WORD_ABC = "abc";
@@ -23,7 +18,6 @@ class WordUtilTest {
     private static final String WORD_ABACA = "abaca";
     private static final String WORD_WORLD = "world";
     private static final String WORD_ABC_UPPER_FIRST = "Abc";
-    private static final String WORD_ABCD = "abcd";
 
     private static final String WORD_HELLO_MIXED = "HeLLo";
     private static final String WORD_HELLO_LOWER = "hello";
@@ -47,34 +41,53 @@ class WordUtilTest {
     private static final char LETTER_Y = 'y';
     private static final char LETTER_Z = 'z';
 
-    // -------- wordHasAnyLetter --------
+    private static long wordMask(String word) {
+        return WordUtil.letterMask(LATIN.encode(word), word.length());
+    }
+
+    private static long letters(char... letters) {
+        long mask = 0;
+        for (char letter : letters) {
+            mask |= 1L << LATIN.letterId(letter);
+        }
+        return mask;
+    }
+
+    // (char) 0 - буква позиции неизвестна
+    private static boolean hasLettersInPlace(String word, char... placed) {
+        long placedCode = 0;
+        long placedLanes = 0;
+        for (char letter : placed) {
+            placedCode = letter == 0 ? placedCode << WordCodec.LETTER_BITS : WordCodec.append(placedCode, LATIN.letterId(letter));
+            placedLanes = placedLanes << WordCodec.LETTER_BITS | (letter == 0 ? 0 : WordCodec.LETTER_MASK);
+        }
+        return WordUtil.wordHasLettersInPlace(LATIN.encode(word), placedCode, placedLanes);
+    }
+
+    // -------- letterMask --------
 
     @Test
-    @DisplayName("Проверка, что если переданы буквы не из слова, то wordHasAnyLetter вернет 0")
-    void wordHasAnyLetter_whenNoLettersMatch_returns0() {
-        // when
-        int count = WordUtil.wordHasAnyLetter(WORD_ABC, Set.of(LETTER_X, LETTER_Y, LETTER_Z));
+    @DisplayName("Проверка, что повторяющиеся буквы дают в маске один бит")
+    void letterMask_repeatedLetters_oneBitPerLetter() {
         // then
-        assertEquals(XYZ_COUNT_IN_ABC, count, "XYZ не содержатся в строке ABC");
+        assertEquals(letters(LETTER_A, LETTER_B), wordMask(WORD_ABA), "В маске ABA только буквы A и B");
+        assertEquals(letters(LETTER_A, LETTER_B, LETTER_C), wordMask(WORD_ABACA), "В маске ABACA только буквы A, B и C");
     }
 
+    // -------- wordHasAnyLetter --------
+
     @Test
-    @DisplayName("Проверка, что если часть букв содержится в слове, то wordHasAnyLetter вернет их количество")
-    void wordHasAnyLetter_countsAllOccurrencesInWord() {
-        // В WORD_ABACA: 'a' встречается 3 раза, 'b' 1 раз => 4
-        // when
-        int count = WordUtil.wordHasAnyLetter(WORD_ABACA, Set.of(LETTER_A, LETTER_B));
+    @DisplayName("Проверка, что если переданы буквы не из слова, то wordHasAnyLetter вернет false")
+    void wordHasAnyLetter_whenNoLettersMatch_returnsFalse() {
         // then
-        assertEquals(A_AND_B_COUNT_IN_ABACA, count, "AB содержатся в строке ABACA");
+        assertFalse(WordUtil.wordHasAnyLetter(wordMask(WORD_ABC), letters(LETTER_X, LETTER_Y, LETTER_Z)), "XYZ не содержатся в строке ABC");
     }
 
     @Test
-    @DisplayName("Проверка, что если переданы повторяющиеся буквы, то wordHasAnyLetter не посчитает одну букву несколько раз")
-    void wordHasAnyLetter_whenLettersCollectionHasDuplicates_stillCountsByWordPositions() {
-        // when
-        int count = WordUtil.wordHasAnyLetter(WORD_ABA, List.of(LETTER_A, LETTER_A));
+    @DisplayName("Проверка, что если часть букв содержится в слове, то wordHasAnyLetter вернет true")
+    void wordHasAnyLetter_whenSomeLettersMatch_returnsTrue() {
         // then
-        assertEquals(A_COUNT_IN_ABA, count, "A содержится в строке ABA");
+        assertTrue(WordUtil.wordHasAnyLetter(wordMask(WORD_ABACA), letters(LETTER_B, LETTER_X)), "B содержится в строке ABACA");
     }
 
     // -------- wordHasAllLetters --------
@@ -83,7 +96,7 @@ class WordUtilTest {
     @DisplayName("Проверка, что если все переданные буквы содержатся в слове, то wordHasAllLetters вернет true")
     void wordHasAllLetters_whenAllPresent_returnsTrue() {
         // when
-        boolean ok = WordUtil.wordHasAllLetters(WORD_WORLD, Set.of(LETTER_W, LETTER_O, LETTER_D));
+        boolean ok = WordUtil.wordHasAllLetters(wordMask(WORD_WORLD), letters(LETTER_W, LETTER_O, LETTER_D));
         //then
         assertTrue(ok, "Все буквы содержатся в слове");
     }
@@ -92,58 +105,48 @@ class WordUtilTest {
     @DisplayName("Проверка, что если не все переданные буквы содержатся в слове, то wordHasAllLetters вернет false")
     void wordHasAllLetters_whenAnyMissing_returnsFalse() {
         // when
-        boolean ok = WordUtil.wordHasAllLetters(WORD_WORLD, Set.of(LETTER_W, LETTER_X));
+        boolean ok = WordUtil.wordHasAllLetters(wordMask(WORD_WORLD), letters(LETTER_W, LETTER_X));
         // then
         assertFalse(ok, "Не все буквы содержатся в слове");
     }
 
     @Test
-    @DisplayName("Проверка, что если передан пустой массив букв, то wordHasAllLetters вернет true")
+    @DisplayName("Проверка, что если передана пустая маска букв, то wordHasAllLetters вернет true")
     void wordHasAllLetters_whenLettersEmpty_returnsTrue() {
         // when
-        boolean ok = WordUtil.wordHasAllLetters(WORD_WORLD, List.of());
+        boolean ok = WordUtil.wordHasAllLetters(wordMask(WORD_WORLD), letters());
         // then
-        assertTrue(ok, "Для пустого массива должно быть true");
+        assertTrue(ok, "Для пустой маски должно быть true");
     }
 
     @Test
-    @DisplayName("Проверка, что нормализация влияет на результат wordHasAllLetters")
-    void wordHasAllLetters_isCaseSensitiveUnlessNormalized() {
-        // when
-        String normalized = WordUtil.normalizeWord(WORD_ABC_UPPER_FIRST);
+    @DisplayName("Проверка, что заглавные буквы в маске совпадают со строчными")
+    void wordHasAllLetters_isCaseInsensitiveByAlphabet() {
         // then
-        assertTrue(WordUtil.wordHasAllLetters(normalized, Set.of(LETTER_A)), "Abc после нормализации содержит маленькую а");
+        assertTrue(WordUtil.wordHasAllLetters(wordMask(WORD_ABC_UPPER_FIRST), letters(LETTER_A)), "Abc содержит маленькую а");
     }
 
     // -------- wordHasLettersInPlace --------
 
     @Test
-    @DisplayName("Проверка, что если передан массив null-ов, то wordHasLettersInPlace вернет true")
-    void wordHasLettersInPlace_whenAllNullConstraints_returnsTrue() {
+    @DisplayName("Проверка, что если ни одна буква не известна, то wordHasLettersInPlace вернет true")
+    void wordHasLettersInPlace_whenNoConstraints_returnsTrue() {
         // then
-        assertTrue(WordUtil.wordHasLettersInPlace(WORD_ABC, Arrays.asList(null, null, null)), "Ожидалось true тк массив null-ов");
+        assertTrue(hasLettersInPlace(WORD_ABC, (char) 0, (char) 0, (char) 0), "Ожидалось true тк буквы неизвестны");
     }
 
     @Test
     @DisplayName("Проверка, что если буквы находятся на своих местах, то wordHasLettersInPlace вернет true")
     void wordHasLettersInPlace_whenMatchesSpecifiedPositions_returnsTrue() {
         // then
-        assertTrue(WordUtil.wordHasLettersInPlace(WORD_ABC, Arrays.asList(LETTER_A, null, LETTER_C)), "Ожидалось true тк буквы на своих местах");
+        assertTrue(hasLettersInPlace(WORD_ABC, LETTER_A, (char) 0, LETTER_C), "Ожидалось true тк буквы на своих местах");
     }
 
     @Test
     @DisplayName("Проверка, что если буквы находятся не на своих местах, то wordHasLettersInPlace вернет false")
     void wordHasLettersInPlace_whenAnySpecifiedPositionMismatches_returnsFalse() {
         // then
-        assertFalse(WordUtil.wordHasLettersInPlace(WORD_ABC, Arrays.asList(LETTER_A, null, LETTER_D)), "Ожидалось false тк буквы не на своих местах");
-    }
-
-    @Test
-    @DisplayName("Проверка, что кидается IndexOutOfBoundsException если (каким-то чудом) длина массива ОК-букв не совпадает с длиной слова")
-    void wordHasLettersInPlace_whenOkLettersShorterThanWord_throwsIndexOutOfBounds() {
-        // then
-        assertThrows(IndexOutOfBoundsException.class,
-                () -> WordUtil.wordHasLettersInPlace(WORD_ABCD, Arrays.asList(LETTER_A, null)), "Ожидалась ошибка IndexOutOfBoundsException");
+        assertFalse(hasLettersInPlace(WORD_ABC, LETTER_A, (char) 0, LETTER_D), "Ожидалось false тк буквы не на своих местах");
     }
 
     // -------- normalizeWord --------
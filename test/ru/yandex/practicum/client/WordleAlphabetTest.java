@@ -0,0 +1,75 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.client.game.WordleAlphabet;
+import ru.yandex.practicum.client.util.WordCodec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordleAlphabetTest {
+    private static final int RUSSIAN_LETTERS_COUNT = 32; // ё сворачивается в е
+    private static final int LATIN_LETTERS_COUNT = 26;
+    private static final String LATIN_REGEX = "[A-Za-z]+";
+    private static final String NO_YO_REGEX = "[А-я]+";
+    private static final String EMPTY_ALPHABET_REGEX = "[0-9]{2}";
+
+    private static final String WORD_MIXED_CASE_WITH_YO = "ЁжИкА";
+    private static final String WORD_NORMALIZED_WITH_YO = "ежика";
+    private static final String WORD_LATIN = "Hello";
+    private static final String WORD_LATIN_NORMALIZED = "hello";
+    private static final String WORD_WITH_DIGITS = "аб12в";
+    private static final String WORD_WITH_SPACE = "аб в";
+    private static final String WORD_YO = "ёлка";
+
+    private static final char LETTER_A = 'а';
+    private static final char LETTER_YA = 'я';
+    private static final char LETTER_E = 'е';
+    private static final char LETTER_YO_UPPER = 'Ё';
+
+    @Test
+    @DisplayName("Проверка, что русский алфавит состоит из плотных номеров букв в алфавитном порядке")
+    void russian_assignsDenseLetterIds() {
+        // then
+        assertEquals(RUSSIAN_LETTERS_COUNT, WordleAlphabet.RUSSIAN.size(), "Неверное количество букв алфавита");
+        assertEquals(0, WordleAlphabet.RUSSIAN.letterId(LETTER_A), "Буква а должна быть первой");
+        assertEquals(RUSSIAN_LETTERS_COUNT - 1, WordleAlphabet.RUSSIAN.letterId(LETTER_YA), "Буква я должна быть последней");
+        assertEquals(WordleAlphabet.RUSSIAN.letterId(LETTER_E), WordleAlphabet.RUSSIAN.letterId(LETTER_YO_UPPER), "Ё должна сворачиваться в е");
+    }
+
+    @Test
+    @DisplayName("Проверка, что кодирование сворачивает регистр и ё, а декодирование возвращает нормализованное слово")
+    void encode_foldsCaseAndYo() {
+        // when
+        long code = WordleAlphabet.RUSSIAN.encode(WORD_MIXED_CASE_WITH_YO);
+        // then
+        assertEquals(WORD_NORMALIZED_WITH_YO, WordleAlphabet.RUSSIAN.decode(code, WORD_NORMALIZED_WITH_YO.length()), "Неверный результат нормализации");
+        assertEquals(WordCodec.NO_CODE, WordleAlphabet.RUSSIAN.encodeNormalized(WORD_MIXED_CASE_WITH_YO), "Слово не было нормализовано");
+        assertEquals(code, WordleAlphabet.RUSSIAN.encodeNormalized(WORD_NORMALIZED_WITH_YO), "Нормализованное слово должно кодироваться");
+    }
+
+    @Test
+    @DisplayName("Проверка отсечения слов с недопустимыми символами")
+    void isValidWord_rejectsForeignCharacters() {
+        // then
+        assertFalse(WordleAlphabet.RUSSIAN.isValidWord(WORD_WITH_DIGITS), "Слово не может содержать цифры");
+        assertFalse(WordleAlphabet.RUSSIAN.isValidWord(WORD_WITH_SPACE), "Слово не может содержать пробел");
+        assertFalse(WordleAlphabet.RUSSIAN.isValidWord(WORD_LATIN), "Слово не может содержать латиницу");
+        assertFalse(WordleAlphabet.RUSSIAN.isValidWord(null), "Null не может быть корректным словом");
+        assertEquals(WordCodec.NO_CODE, WordleAlphabet.RUSSIAN.encode(WORD_WITH_DIGITS), "Слово с цифрами не должно кодироваться");
+    }
+
+    @Test
+    @DisplayName("Проверка, что алфавит строится по регулярке допустимых символов")
+    void forRegex_buildsAlphabetFromRegex() {
+        // when
+        WordleAlphabet latin = WordleAlphabet.forRegex(LATIN_REGEX);
+        WordleAlphabet noYo = WordleAlphabet.forRegex(NO_YO_REGEX);
+        // then
+        assertEquals(LATIN_LETTERS_COUNT, latin.size(), "Неверное количество букв латинского алфавита");
+        assertEquals(WORD_LATIN_NORMALIZED, latin.decode(latin.encode(WORD_LATIN), WORD_LATIN.length()), "Неверный результат нормализации");
+        assertFalse(noYo.isValidWord(WORD_YO), "Регулярка не допускает букву ё");
+        assertSame(latin, WordleAlphabet.forRegex(LATIN_REGEX), "Алфавит для одной регулярки должен строиться один раз");
+        assertThrows(IllegalArgumentException.class, () -> WordleAlphabet.forRegex(EMPTY_ALPHABET_REGEX), "Ожидалось исключение IllegalArgumentException");
+    }
+}
@@ -0,0 +1,135 @@
+package ru.yandex.practicum.client;
+
+import org.junit.jupiter.api.*;
+import ru.yandex.practicum.client.exception.WordleGameEmptyWordsCollectionException;
+import ru.yandex.practicum.client.game.WordleDictionary;
+import ru.yandex.practicum.client.game.WordleDictionaryBuilder;
+import ru.yandex.practicum.client.game.WordleDictionaryCompiler;
+import ru.yandex.practicum.client.game.WordleDictionaryLoader;
+import ru.yandex.practicum.client.util.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.yandex.practicum.TestsStubs.*;
+
+public class WordleDictionaryCompilerTest {
+    private static final String TEMP_FILE_PREFIX = "wordle";
+    private static final String TEMP_FILE_SUFFIX = ".wdc";
+    private static final String WORD_1 = "арбуз";
+    private static final String WORD_2 = "вишня";
+    private static final String WORD_3 = "автор";
+    private static final String UNKNOWN_WORD = "аргал";
+    private static final int WORDS_COUNT = 3;
+    // смещения полей заголовка (см. WordleDictionaryCompiler)
+    private static final int WORD_LENGTH_OFFSET = 6;
+    private static final int WORDS_COUNT_OFFSET = 8;
+    private static final int TABLE_CAPACITY_OFFSET = 12;
+    private static final int REGEX_LENGTH_OFFSET = 28;
+
+    private Logger logger;
+    private File compiledFile;
+
+    @BeforeEach
+    public void init() throws IOException {
+        logger = new Logger(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        compiledFile = File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        // given
+        WordleDictionary dictionary = new WordleDictionaryBuilder(WORDS_LENGTH, VALID_CHARS_REGEX).addAll(List.of(WORD_1, WORD_2, WORD_3)).build();
+        new WordleDictionaryCompiler(logger).compile(dictionary, compiledFile.getAbsolutePath());
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        compiledFile.delete();
+    }
+
+    @Test
+    @DisplayName("Проверка, что скомпилированный словарь отображается в память с теми же словами")
+    public void mapCompiledWords_MapCompiledFile_SameWords() throws IOException, WordleGameEmptyWordsCollectionException {
+        // when
+        WordleDictionary mapped = new WordleDictionaryLoader(logger).mapCompiledWords(compiledFile.getAbsolutePath(), true);
+        // then
+        assertEquals(WORDS_COUNT, mapped.size(), "Неверное количество слов в скомпилированном словаре");
+        assertEquals(WORDS_LENGTH, mapped.getWordLength(), "Неверная длина слов в скомпилированном словаре");
+        assertEquals(VALID_CHARS_REGEX, mapped.getValidCharsRegex(), "Неверная регулярка в скомпилированном словаре");
+        assertTrue(mapped.contains(WORD_1), "Словарь должен содержать слово арбуз");
+        assertTrue(mapped.contains(WORD_2), "Словарь должен содержать слово вишня");
+        assertTrue(mapped.contains(WORD_3), "Словарь должен содержать слово автор");
+        assertFalse(mapped.contains(UNKNOWN_WORD), "Словарь не должен содержать слово аргал");
+        assertTrue(mapped.contains(mapped.getRandomWord()), "Случайное слово должно быть из словаря");
+    }
+
+    @Test
+    @DisplayName("Проверка, что поврежденный скомпилированный словарь не загружается")
+    public void mapCompiledWords_CorruptedFile_IOException() throws IOException {
+        // given
+        try (RandomAccessFile file = new RandomAccessFile(compiledFile, "rw")) {
+            file.seek(file.length() - 1);
+            file.write(file.read() ^ 1);
+        }
+        // then
+        assertThrows(IOException.class,
+                () -> new WordleDictionaryLoader(logger).mapCompiledWords(compiledFile.getAbsolutePath(), true), "Ожидалось исключение IOException");
+    }
+
+    @Test
+    @DisplayName("Проверка, что словарь с невозможными длинами и счетчиками в заголовке не загружается")
+    public void mapCompiledWords_CorruptedHeader_IOException() throws IOException {
+        // given
+        byte[] original = Files.readAllBytes(compiledFile.toPath());
+        int[][] corruptions = {
+                {REGEX_LENGTH_OFFSET, Integer.MAX_VALUE},
+                {REGEX_LENGTH_OFFSET, -1},
+                {WORDS_COUNT_OFFSET, Integer.MAX_VALUE / Long.BYTES + 1},
+                {WORDS_COUNT_OFFSET, -1},
+                {TABLE_CAPACITY_OFFSET, 1 << 30},
+                {WORD_LENGTH_OFFSET, 0}
+        };
+        for (int[] corruption : corruptions) {
+            Files.write(compiledFile.toPath(), original);
+            try (RandomAccessFile file = new RandomAccessFile(compiledFile, "rw")) {
+                file.seek(corruption[0]);
+                if (corruption[0] == WORD_LENGTH_OFFSET) {
+                    file.writeShort(corruption[1]);
+                } else {
+                    file.writeInt(corruption[1]);
+                }
+            }
+            // then
+            assertThrows(IOException.class, () -> new WordleDictionaryLoader(logger).mapCompiledWords(compiledFile.getAbsolutePath(), false),
+                    "Ожидалось исключение IOException при значении " + corruption[1] + " по смещению " + corruption[0]);
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что текстовый файл не принимается за скомпилированный словарь")
+    public void mapCompiledWords_TextFile_IOException() {
+        // then
+        assertThrows(IOException.class,
+                () -> new WordleDictionaryLoader(logger).mapCompiledWords(WORDS_FILE, false), "Ожидалось исключение IOException");
+    }
+
+    @Test
+    @DisplayName("Проверка, что веса слов сохраняются в скомпилированном словаре")
+    public void mapCompiledWords_WeightedDictionary_SameWeights() throws IOException {
+        // given
+        WordleDictionary dictionary = new WordleDictionaryBuilder(WORDS_LENGTH, VALID_CHARS_REGEX).addAll(List.of(WORD_1, WORD_2, WORD_3)).build();
+        WordleDictionary weighted = dictionary.withWeights(new float[]{1, 2, 3});
+        new WordleDictionaryCompiler(logger).compile(weighted, compiledFile.getAbsolutePath());
+        // when
+        WordleDictionary mapped = new WordleDictionaryLoader(logger).mapCompiledWords(compiledFile.getAbsolutePath(), true);
+        // then
+        assertTrue(mapped.isWeighted(), "Словарь должен быть с весами");
+        for (int i = 0; i < weighted.size(); i++) {
+            int mappedIndex = mapped.indexOf(weighted.codeAt(i));
+            assertEquals(weighted.getWeight(i), mapped.getWeight(mappedIndex), "Неверный вес слова");
+        }
+    }
+}
@@ -12,6 +12,21 @@ import static org.junit.jupiter.api.Assertions.*;
 import static ru.yandex.practicum.TestsStubs.*;
 
 public class WordleDictionaryLoaderTest {
+    private static final String TEMP_FILE_PREFIX = "words";
+    private static final String TEMP_FILE_SUFFIX = ".txt";
+    // BOM, переводы строк Windows, слова другой длины и последняя строка без перевода строки
+    private static final String WORDS_FILE_CONTENT = "\uFEFFарбуз\r\nкот\r\nВишня\nаб12в\n\nяблоко\nавтор";
+    private static final int WORDS_FILE_VALID_WORDS_COUNT = 3;
+    private static final String WORD_FIRST = "арбуз";
+    private static final String WORD_NORMALIZED = "вишня";
+    private static final String WORD_LAST = "автор";
+    // веса через табуляцию или пробел, повтор слова после нормализации, строка с некорректным весом
+    private static final String WEIGHTED_FILE_CONTENT = "арбуз\t10\nвишня 2.5\nавтор\nАрбуз 5\nгруша много\n";
+    private static final int WEIGHTED_FILE_VALID_WORDS_COUNT = 3;
+    private static final float WORD_FIRST_WEIGHT = 15;
+    private static final float WORD_NORMALIZED_WEIGHT = 2.5f;
+    private static final float DEFAULT_WEIGHT = 1;
+
     private WordleDictionaryLoader loader;
 
     @BeforeEach
@@ -37,4 +52,41 @@ public class WordleDictionaryLoaderTest {
         // then
         assertThrows(FileNotFoundException.class, () -> loader.loadWords(stubFileName, WORDS_LENGTH, VALID_CHARS_REGEX), "Должно быть выброшено исключение FileNotFoundException");
     }
+
+    @Test
+    @DisplayName("Проверка загрузки слов с BOM, переводами строк Windows и без перевода строки в конце")
+    public void loadWords_LoadWordsWithBomAndCrLf_ValidWordsOnly() throws IOException {
+        // given
+        File wordsFile = File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        wordsFile.deleteOnExit();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(wordsFile), StandardCharsets.UTF_8)) {
+            writer.write(WORDS_FILE_CONTENT);
+        }
+        // when
+        WordleDictionary dictionary = loader.loadWords(wordsFile.getAbsolutePath(), WORDS_LENGTH, VALID_CHARS_REGEX);
+        // then
+        assertEquals(WORDS_FILE_VALID_WORDS_COUNT, dictionary.size(), "Неверное количество загруженных слов");
+        assertTrue(dictionary.contains(WORD_FIRST), "Первое слово после BOM должно быть загружено");
+        assertTrue(dictionary.contains(WORD_NORMALIZED), "Слово должно быть загружено после нормализации");
+        assertTrue(dictionary.contains(WORD_LAST), "Последнее слово без перевода строки должно быть загружено");
+    }
+
+    @Test
+    @DisplayName("Проверка загрузки весов слов из второй колонки файла")
+    public void loadWords_LoadWordsWithWeights_WeightsSummedByWord() throws IOException {
+        // given
+        File wordsFile = File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        wordsFile.deleteOnExit();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(wordsFile), StandardCharsets.UTF_8)) {
+            writer.write(WEIGHTED_FILE_CONTENT);
+        }
+        // when
+        WordleDictionary dictionary = loader.loadWords(wordsFile.getAbsolutePath(), WORDS_LENGTH, VALID_CHARS_REGEX);
+        // then
+        assertTrue(dictionary.isWeighted(), "Словарь должен быть с весами");
+        assertEquals(WEIGHTED_FILE_VALID_WORDS_COUNT, dictionary.size(), "Неверное количество загруженных слов");
+        assertEquals(WORD_FIRST_WEIGHT, dictionary.getWeight(dictionary.indexOf(dictionary.encode(WORD_FIRST))), "Веса повторов слова должны складываться");
+        assertEquals(WORD_NORMALIZED_WEIGHT, dictionary.getWeight(dictionary.indexOf(dictionary.encode(WORD_NORMALIZED))), "Неверный дробный вес");
+        assertEquals(DEFAULT_WEIGHT, dictionary.getWeight(dictionary.indexOf(dictionary.encode(WORD_LAST))), "Слово без веса должно весить 1");
+    }
 }
@@ -4,9 +4,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import ru.yandex.practicum.client.exception.WordleGameEmptyWordsCollectionException;
+import ru.yandex.practicum.client.game.LetterIndex;
 import ru.yandex.practicum.client.game.WordleDictionary;
+import ru.yandex.practicum.client.game.WordleDictionaryBuilder;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,6 +25,10 @@ class WordleDictionaryTest {
     private static final String WORD_VALID_1 = "арбуз"; // 5
     private static final String WORD_VALID_2 = "вишня"; // 5
 
+    private static final String WORD_VALID_3 = "автор"; // 5, общий с арбуз префикс
+    private static final String PATTERN_A_START = "а....";
+    private static final String PATTERN_NO_MATCH = "...яя";
+
     private static final String WORD_INVALID_NULL = null;
     private static final String WORD_INVALID_BLANK = "   ";
     private static final String WORD_INVALID_DIGITS = "аб12в";
@@ -29,12 +36,14 @@ class WordleDictionaryTest {
     private static final String WORD_INVALID_SHORT = "кот"; // 3
     private static final String WORD_INVALID_LONG = "машина"; // 6
 
+    private WordleDictionaryBuilder builder;
     private WordleDictionary dict;
 
     @BeforeEach
     void init() {
         // given
-        dict = new WordleDictionary(WORD_LENGTH, VALID_REGEX);
+        builder = new WordleDictionaryBuilder(WORD_LENGTH, VALID_REGEX);
+        dict = builder.build();
     }
 
     // ---------- isCorrectWord ----------
@@ -71,13 +80,13 @@ class WordleDictionaryTest {
     @DisplayName("Проверка, в словарь добавляются только корректные слова")
     void addAll_addsOnlyCorrectWords_andNormalizes() {
         // when
-        dict.addAll(List.of(
+        dict = builder.addAll(List.of(
                 WORD_VALID_1,              // valid
                 WORD_INVALID_DIGITS,       // invalid (regex)
                 WORD_INVALID_SHORT,        // invalid (len)
                 WORD_INVALID_BLANK,        // invalid (blank)
                 WORD_MIXED_CASE_WITH_YO    // valid by regex/len, should normalize
-        ));
+        )).build();
         // then
         assertEquals(VALID_WORDS_COUNT, dict.size());
 
@@ -95,30 +104,26 @@ class WordleDictionaryTest {
     @DisplayName("Проверка, что в словарь не добавится слово неверной длины")
     void addAll_doesNotAddIncorrectLengthEvenIfCyrillic() {
         // when
-        dict.addAll(List.of(WORD_APPLE_RU_UPPER)); // "ЯБЛОКО" length 6
+        dict = builder.addAll(List.of(WORD_APPLE_RU_UPPER)).build(); // "ЯБЛОКО" length 6
         // then
         assertTrue(dict.isEmpty(), "Слово яблоко не должно быть добавлено в словарь");
     }
 
-    // ---------- contains/isEmpty/clear/getAll ----------
+    // ---------- contains/isEmpty/getAll ----------
 
     @Test
-    @DisplayName("Проверка, что в словарь корректно очищается")
-    void contains_isEmpty_size_clear_workCorrectly() {
+    @DisplayName("Проверка, что собранный словарь содержит добавленные слова")
+    void contains_isEmpty_size_workCorrectly() {
         // given
         assertTrue(dict.isEmpty(), "Словарь должен быть пуст");
         assertEquals(0, dict.size(), "Словарь должен быть пуст");
         // when
-        dict.addAll(List.of(WORD_VALID_1, WORD_VALID_2));
+        dict = builder.addAll(List.of(WORD_VALID_1, WORD_VALID_2)).build();
         // then
         assertFalse(dict.isEmpty(), "Словарь должен содержать элементы");
         assertEquals(VALID_WORDS_COUNT, dict.size(), "Словарь должен содержать элементы");
         assertTrue(dict.contains(WORD_VALID_1), "Словарь должен содержать слово арбуз");
         assertTrue(dict.contains(WORD_VALID_2), "Словарь должен содержать вишня");
-
-        dict.clear();
-        assertTrue(dict.isEmpty(), "Словарь должен быть очищен");
-        assertEquals(0, dict.size(), "Словарь должен быть очищен");
     }
 
     // ---------- getRandomWord ----------
@@ -128,32 +133,190 @@ class WordleDictionaryTest {
     void getRandomWord_whenEmpty_throwsException() {
         // then
         assertThrows(WordleGameEmptyWordsCollectionException.class, dict::getRandomWord, "Словарь пуст, ожидалось исключение WordleGameEmptyWordsCollectionException");
-        assertThrows(WordleGameEmptyWordsCollectionException.class, () -> dict.getRandomWord(true), "Словарь пуст, ожидалось исключение WordleGameEmptyWordsCollectionException");
     }
 
     @Test
     @DisplayName("Проверка, что после получения случайного слова (withRemove: false) оно не будет удалено из словаря")
     void getRandomWord_withoutRemove_returnsExistingWord_andDoesNotChangeSize() throws WordleGameEmptyWordsCollectionException {
         // when
-        dict.addAll(List.of(WORD_VALID_1, WORD_VALID_2));
+        dict = builder.addAll(List.of(WORD_VALID_1, WORD_VALID_2)).build();
         int before = dict.size();
-        String randomWord = dict.getRandomWord(false);
+        String randomWord = dict.getRandomWord();
         // then
         assertNotNull(randomWord, "Случайное слово не должно быть null");
         assertTrue(dict.contains(randomWord), "Словарь должен содержать полученное случайное слово");
         assertEquals(before, dict.size(), "Размер словаря не должен меняться");
     }
 
+    // ---------- build ----------
+
     @Test
-    @DisplayName("Проверка, что после получения случайного слова (withRemove: true) оно не будет удалено из словаря")
-    void getRandomWord_withRemove_removesReturnedWord_andDecreasesSize() throws WordleGameEmptyWordsCollectionException {
+    @DisplayName("Проверка, что собранный словарь не меняется при продолжении сборки")
+    void build_keepsWords_whenBuilderChanges() {
+        // given
+        builder.addAll(List.of(WORD_VALID_1, WORD_VALID_2));
         // when
-        dict.addAll(List.of(WORD_VALID_1, WORD_VALID_2));
-        int before = dict.size();
-        String removed = dict.getRandomWord(true);
+        dict = builder.build();
+        builder.addAll(List.of(WORD_VALID_3));
+        // then
+        assertEquals(VALID_WORDS_COUNT, dict.size(), "Словарь не должен зависеть от дальнейшей сборки");
+        assertTrue(dict.contains(WORD_VALID_1), "Словарь должен содержать слово арбуз");
+        assertTrue(dict.contains(WORD_VALID_2), "Словарь должен содержать слово вишня");
+        assertFalse(dict.contains(WORD_VALID_3), "Словарь не должен содержать слово автор");
+        assertEquals(VALID_WORDS_COUNT + 1, builder.build().size(), "Новый словарь должен содержать все добавленные слова");
+    }
+
+    // ---------- toCompressed / findMatching ----------
+
+    @Test
+    @DisplayName("Проверка, что сжатый словарь содержит те же слова в лексикографическом порядке")
+    void toCompressed_keepsWords_inLexicographicOrder() throws WordleGameEmptyWordsCollectionException {
+        // given
+        dict = builder.addAll(List.of(WORD_VALID_2, WORD_VALID_1, WORD_VALID_3)).build();
+        // when
+        WordleDictionary compressed = dict.toCompressed();
+        // then
+        assertEquals(List.of(WORD_VALID_3, WORD_VALID_1, WORD_VALID_2), List.copyOf(compressed.getAll()), "Неверный порядок слов");
+        for (int i = 0; i < compressed.size(); i++) {
+            assertEquals(i, compressed.indexOf(compressed.codeAt(i)), "Индекс слова должен совпадать с позицией");
+        }
+        assertTrue(compressed.contains(WORD_VALID_3), "Словарь должен содержать слово автор");
+        assertFalse(compressed.contains(WORD_NORMALIZED_WITH_YO), "Словарь не должен содержать слово ежика");
+        assertTrue(compressed.contains(compressed.getRandomWord()), "Случайное слово должно быть из словаря");
+    }
+
+    @Test
+    @DisplayName("Проверка поиска слов по шаблону в обычном и сжатом словаре")
+    void findMatching_returnsWordsMatchingPattern() {
+        // given
+        dict = builder.addAll(List.of(WORD_VALID_1, WORD_VALID_2, WORD_VALID_3)).build();
+        for (WordleDictionary dictionary : List.of(dict, dict.toCompressed())) {
+            // when
+            List<String> matching = dictionary.findMatching(PATTERN_A_START);
+            // then
+            assertEquals(2, matching.size(), "Шаблону должны соответствовать два слова");
+            assertTrue(matching.containsAll(List.of(WORD_VALID_1, WORD_VALID_3)), "Шаблону соответствуют арбуз и автор");
+            assertTrue(dictionary.findMatching(PATTERN_NO_MATCH).isEmpty(), "Шаблону не должно соответствовать ни одно слово");
+        }
+        assertThrows(IllegalArgumentException.class, () -> dict.findMatching(WORD_INVALID_SHORT), "Ожидалось исключение IllegalArgumentException");
+    }
+
+    // ---------- getLetterIndex ----------
+
+    @Test
+    @DisplayName("Проверка, что индекс букв отмечает слова по позициям и наличию букв")
+    void getLetterIndex_marksWordsByLetterPositions() {
+        // given
+        dict = builder.addAll(List.of(WORD_VALID_1, WORD_VALID_2, WORD_VALID_3)).build();
+        // when
+        LetterIndex index = dict.getLetterIndex();
+        // then
+        assertSame(index, dict.getLetterIndex(), "Индекс словаря должен строиться один раз");
+        int letterA = dict.getAlphabet().letterId('а');
+        int letterR = dict.getAlphabet().letterId('р');
+        for (int i = 0; i < dict.size(); i++) {
+            String word = dict.decode(dict.codeAt(i));
+            boolean startsWithA = (index.wordsWithLetterAt(0, letterA)[i / Long.SIZE] & 1L << i) != 0;
+            boolean hasR = (index.wordsWithLetter(letterR)[i / Long.SIZE] & 1L << i) != 0;
+            assertEquals(word.charAt(0) == 'а', startsWithA, "Неверно отмечена буква на позиции: " + word);
+            assertEquals(word.indexOf('р') >= 0, hasR, "Неверно отмечено наличие буквы: " + word);
+        }
+    }
+
+    // ---------- complete ----------
+
+    @Test
+    @DisplayName("Проверка дополнения префикса словами из словаря в лексикографическом порядке")
+    void complete_returnsFirstWordsWithPrefix() {
+        // given
+        dict = builder.addAll(List.of(WORD_VALID_1, WORD_VALID_2, WORD_VALID_3)).build();
+        long[] codes = new long[1];
+        // then
+        assertEquals(List.of(WORD_VALID_3, WORD_VALID_1), dict.complete("А", VALID_WORDS_COUNT), "Неверные варианты для префикса а");
+        assertEquals(List.of(WORD_VALID_1), dict.complete("арб", VALID_WORDS_COUNT), "Неверные варианты для префикса арб");
+        assertEquals(List.of(WORD_VALID_1), dict.complete(WORD_VALID_1, VALID_WORDS_COUNT), "Полное слово дополняется самим собой");
+        assertTrue(dict.complete("яя", VALID_WORDS_COUNT).isEmpty(), "Не должно быть слов с префиксом яя");
+        assertTrue(dict.complete(WORD_INVALID_DIGITS, VALID_WORDS_COUNT).isEmpty(), "Некорректный префикс не дополняется");
+        assertEquals(1, dict.complete("", codes), "Количество вариантов ограничено размером массива");
+        assertEquals(WORD_VALID_3, dict.decode(codes[0]), "Первым должно быть слово автор");
+        assertSame(dict.getPrefixIndex(), dict.getPrefixIndex(), "Индекс словаря должен строиться один раз");
+    }
+
+    @Test
+    @DisplayName("Проверка, что в словаре с весами дополнения идут от самых частых слов")
+    void complete_weighted_returnsHeaviestWordsFirst() {
+        // given
+        dict = builder.addAll(List.of(WORD_VALID_1, WORD_VALID_2, WORD_VALID_3)).build();
+        float[] weights = new float[dict.size()];
+        weights[dict.indexOf(dict.getAlphabet().encode(WORD_VALID_1))] = 2;
+        weights[dict.indexOf(dict.getAlphabet().encode(WORD_VALID_2))] = 3;
+        weights[dict.indexOf(dict.getAlphabet().encode(WORD_VALID_3))] = 2;
+        WordleDictionary weighted = dict.withWeights(weights);
+        // then
+        assertEquals(List.of(WORD_VALID_2, WORD_VALID_3), weighted.complete("", 2), "Неверные самые частые варианты");
+        assertEquals(List.of(WORD_VALID_3, WORD_VALID_1), weighted.complete("А", VALID_WORDS_COUNT), "При равных весах порядок алфавитный");
+        assertTrue(weighted.complete("", 0).isEmpty(), "Нулевой лимит не дает вариантов");
+        assertThrows(IllegalArgumentException.class, () -> weighted.complete("", -1), "Ожидалось исключение IllegalArgumentException");
+    }
+
+    // ---------- findNearest ----------
+
+    @Test
+    @DisplayName("Проверка поиска ближайших слов по числу отличающихся букв")
+    void findNearest_returnsClosestWordsFirst() {
+        // given
+        dict = builder.addAll(List.of(WORD_VALID_1, WORD_VALID_2, WORD_VALID_3, "арбов")).build();
+        // then
+        assertEquals(List.of(WORD_VALID_1, "арбов"), dict.findNearest(dict.encode("арбух"), 2, 3),
+                "Сначала слово с одной отличающейся буквой, затем с двумя");
+        assertEquals(List.of(WORD_VALID_1), dict.findNearest(dict.encode("арбух"), 1, 3), "Неверно учтено ограничение расстояния");
+        assertEquals(List.of("арбов"), dict.findNearest(dict.encode(WORD_VALID_1), 2, 3), "Само слово не должно предлагаться");
+        assertTrue(dict.findNearest(dict.encode("ююююю"), 2, 3).isEmpty(), "Далеких слов не должно быть");
+    }
+
+    // ---------- withWeights / randomIndex ----------
+
+    @Test
+    @DisplayName("Проверка, что случайные слова выбираются пропорционально весам")
+    void randomIndex_weightedDictionary_followsWeights() {
+        // given
+        final int samples = 40_000;
+        final double tolerance = 0.02;
+        dict = builder.addAll(List.of(WORD_VALID_1, WORD_VALID_2, WORD_VALID_3)).build();
+        WordleDictionary weighted = dict.withWeights(new float[]{0, 1, 3});
+        Random random = new Random(1);
+        int[] hits = new int[weighted.size()];
+        // when
+        for (int i = 0; i < samples; i++) {
+            hits[weighted.randomIndex(random)]++;
+        }
+        // then
+        assertTrue(weighted.isWeighted(), "Словарь должен быть с весами");
+        assertEquals(0, hits[0], "Слово с нулевым весом не должно выбираться");
+        assertEquals(0.25, (double) hits[1] / samples, tolerance, "Слово с весом 1 из 4 должно выпадать в четверти случаев");
+        assertEquals(0.75, (double) hits[2] / samples, tolerance, "Слово с весом 3 из 4 должно выпадать в трех четвертях случаев");
+        assertEquals(3, weighted.toCompressed().getWeight(weighted.toCompressed().indexOf(weighted.codeAt(2))),
+                "Веса должны переставляться вместе со словами сжатого словаря");
+        assertThrows(IllegalArgumentException.class, () -> dict.withWeights(new float[]{1}), "Ожидалось исключение IllegalArgumentException");
+        assertThrows(IllegalArgumentException.class, () -> dict.withWeights(new float[]{0, 0, 0}), "Ожидалось исключение IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("Проверка, что выборка слов содержит разные слова словаря вместе с их весами")
+    void sample_returnsDistinctWordsWithWeights() {
+        // given
+        dict = builder.addAll(List.of(WORD_VALID_1, WORD_VALID_2, WORD_VALID_3)).build();
+        WordleDictionary weighted = dict.withWeights(new float[]{1, 2, 3});
+        // when
+        WordleDictionary shard = weighted.sample(VALID_WORDS_COUNT, new Random(1));
         // then
-        assertNotNull(removed, "Случайное слово не должно быть null");
-        assertEquals(before - 1, dict.size(), "Размер словаря должен уменьшиться на 1");
-        assertFalse(dict.contains(removed), "Словарь не должен содержать полученное случайное слово");
+        assertEquals(VALID_WORDS_COUNT, shard.size(), "Неверный размер выборки");
+        for (int i = 0; i < shard.size(); i++) {
+            int index = weighted.indexOf(shard.codeAt(i));
+            assertTrue(index >= 0, "Слово выборки должно быть в словаре");
+            assertEquals(weighted.getWeight(index), shard.getWeight(i), "Вес слова должен сохраниться");
+        }
+        assertEquals(weighted.size(), weighted.sample(weighted.size() + 1, new Random(1)).size(),
+                "Выборка больше словаря - весь словарь");
     }
 }
@@ -2,7 +2,10 @@ package ru.yandex.practicum.client;
 
 import org.junit.jupiter.api.*;
 import ru.yandex.practicum.client.exception.*;
+import ru.yandex.practicum.client.game.EntropyHintStrategy;
+import ru.yandex.practicum.client.game.Feedback;
 import ru.yandex.practicum.client.game.WordleDictionary;
+import ru.yandex.practicum.client.game.WordleDictionaryBuilder;
 import ru.yandex.practicum.client.game.WordleDictionaryLoader;
 import ru.yandex.practicum.client.game.WordleGame;
 import ru.yandex.practicum.client.game.WordleGameState;
@@ -13,11 +16,13 @@ import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static ru.yandex.practicum.TestsStubs.VALID_CHARS_REGEX;
 import static ru.yandex.practicum.TestsStubs.WORDS_FILE;
+import static ru.yandex.practicum.TestsStubs.WORDS_LENGTH;
 
 public class WordleGameTest {
     private static Logger logger;
@@ -29,6 +34,7 @@ public class WordleGameTest {
     private static final String VALID_WORD_3 = "автор";
     private static final String VALID_WORD_4 = "КлАсС";
     private static final String UNKNOWN_VALID_WORD = "АбобА";
+    private static final String VALID_WORD_1_TYPO = "арбуф";
     private static final Set<Character> VALID_WORD_3_TO_1_CORRECT_CHARS = new HashSet<>(Arrays.asList('а', 'р'));
     private static final Set<Character> VALID_WORD_3_TO_1_WRONG_CHARS = new HashSet<>(Arrays.asList('в', 'т', 'о'));
     private static final String VALID_WORD_3_TO_1_PATTERN = "+---^";
@@ -41,12 +47,13 @@ public class WordleGameTest {
     private static final int TWO_ATTEMPTS = 2;
     private static final int THREE_ATTEMPTS = 3;
     private static final int FIVE_ATTEMPTS = 5;
+    private static final int REPEATED_HINTS = 20;
 
     @BeforeAll
     public static void init() throws IOException {
         logger = new Logger(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
         wordleDictionary =
-                new WordleDictionaryLoader(logger).loadWords(WORDS_FILE, WordleGame.WORD_LENGTH, VALID_CHARS_REGEX);
+                new WordleDictionaryLoader(logger).loadWords(WORDS_FILE, WORDS_LENGTH, VALID_CHARS_REGEX);
     }
 
     @BeforeEach
@@ -95,6 +102,38 @@ public class WordleGameTest {
         assertThrows(WordleGameWordNotFoundInDictionary.class, () -> game.setAnswer(INVALID_WORD), "Ожидалось исключение WordleGameWordNotFoundInDictionary");
     }
 
+    @Test
+    @DisplayName("Проверка, что исключение о неизвестном слове содержит близкие слова из словаря")
+    public void checkWord_UnknownWordWithTypo_SuggestionsInException() throws WordleGameEmptyWordsCollectionException, WordleGameWordNotFoundInDictionary {
+        // given
+        game.setAnswer(VALID_WORD_1);
+        // when
+        WordleGameWordNotFoundInDictionary e = assertThrows(WordleGameWordNotFoundInDictionary.class,
+                () -> game.checkWord(VALID_WORD_1_TYPO), "Слова нет в словаре");
+        // then
+        assertTrue(e.getSuggestions().contains(VALID_WORD_1), "Среди предложений должно быть слово арбуз");
+        assertTrue(e.getMessage().contains(VALID_WORD_1), "Предложения должны попасть в сообщение");
+        assertEquals(ZERO_ATTEMPTS, game.getUsedAttempts(), "Неизвестное слово не тратит попытку");
+    }
+
+    @Test
+    @DisplayName("Проверка, что догадки принимаются по полному словарю, а ответы и подсказки берутся из списка ответов")
+    public void checkWord_SeparateAnswersDictionary_GuessesFromFullDictionary() throws WordleGameException {
+        // given
+        WordleDictionary answers = new WordleDictionaryBuilder(WORDS_LENGTH, VALID_CHARS_REGEX).addAll(List.of(VALID_WORD_1, VALID_WORD_2)).build();
+        WordleGame twoTierGame = new WordleGame(logger, answers, wordleDictionary);
+        // when
+        twoTierGame.setAnswer(VALID_WORD_1);
+        String pattern = twoTierGame.checkWord(VALID_WORD_3);
+        String hint = twoTierGame.guessWord();
+        // then
+        assertEquals(VALID_WORD_3_TO_1_PATTERN, pattern, "Слово из полного словаря должно приниматься");
+        assertTrue(answers.contains(twoTierGame.getAnswer()), "Ответ должен выбираться из списка ответов");
+        assertTrue(answers.contains(hint), "Подсказка должна выбираться из списка ответов");
+        assertThrows(WordleGameWordNotFoundInDictionary.class, () -> twoTierGame.setAnswer(VALID_WORD_3),
+                "Слово вне списка ответов нельзя загадать");
+    }
+
     @Test
     @DisplayName("Проверка, что hasUsedHint верно определяет использование подсказки")
     public void hasUsedHint_RecognizesHintUsage_HintUsed() throws WordleGameEmptyWordsCollectionException, WordleGameWordNotFoundInDictionary,
@@ -242,6 +281,56 @@ public class WordleGameTest {
         assertEquals(oldSize, guessToValid1Intersection.size(), "Не все символы из опыта были учтены при угадывании");
     }
 
+    @Test
+    @DisplayName("Проверка, что подсказка учитывает все введенные слова, а не только последнее")
+    public void guessWord_SeveralCheckedWords_ConsistentWithAllFeedbacks() throws WordleGameEmptyWordsCollectionException, WordleGameWordNotFoundInDictionary,
+            WordleGameWrongWordLengthException, WordleGameIncorrectWordException, WordleGameNoAttemptsLeftException {
+        // given
+        game.setAnswer(VALID_WORD_1);
+        game.checkWord(VALID_WORD_2);
+        game.checkWord(VALID_WORD_3);
+        // when
+        String guess = game.guessWord();
+        // then
+        long answerCode = wordleDictionary.encode(VALID_WORD_1);
+        long guessCode = wordleDictionary.encode(guess);
+        for (String checked : List.of(VALID_WORD_2, VALID_WORD_3)) {
+            long checkedCode = wordleDictionary.encode(checked);
+            assertEquals(Feedback.compute(answerCode, checkedCode, WORDS_LENGTH), Feedback.compute(guessCode, checkedCode, WORDS_LENGTH),
+                    "Подсказка " + guess + " противоречит ответу на слово " + checked);
+        }
+    }
+
+    @Test
+    @DisplayName("Проверка, что подсказка по энтропии - слово словаря и считается использованием подсказки")
+    public void guessWord_EntropyStrategy_DictionaryWord() throws WordleGameEmptyWordsCollectionException, WordleGameWordNotFoundInDictionary,
+            WordleGameWrongWordLengthException, WordleGameIncorrectWordException, WordleGameNoAttemptsLeftException {
+        // given
+        game.setAnswer(VALID_WORD_1);
+        game.checkWord(VALID_WORD_3);
+        // when
+        String guess = game.guessWord(new EntropyHintStrategy(), WordleGame.NO_BUDGET);
+        // then
+        assertTrue(wordleDictionary.contains(guess), "Подсказка должна быть словом словаря");
+        assertTrue(game.hasUsedHint(), "Подсказка использовалась");
+        assertDoesNotThrow(() -> game.checkWord(guess), "Подсказку можно ввести");
+    }
+
+    @Test
+    @DisplayName("Проверка, что повторные подсказки не теряют ответ среди кандидатов")
+    public void guessWord_RepeatedHints_AnswerKept() throws WordleGameEmptyWordsCollectionException, WordleGameWordNotFoundInDictionary,
+            WordleGameWrongWordLengthException, WordleGameIncorrectWordException, WordleGameNoAttemptsLeftException {
+        // given
+        game.setAnswer(VALID_WORD_1);
+        game.checkWord(VALID_WORD_2);
+        // when
+        for (int i = 0; i < REPEATED_HINTS; i++) {
+            game.guessWord();
+        }
+        // then
+        assertDoesNotThrow(() -> game.checkWord(VALID_WORD_3), "Ответ должен остаться среди кандидатов");
+    }
+
     @Test
     @DisplayName("Проверка, что checkWord валидирует ввод (кидает ошибки)")
     public void checkWord_ThrowsExceptionOnInvalidInput_WordleException() throws WordleGameEmptyWordsCollectionException, WordleGameWordNotFoundInDictionary {
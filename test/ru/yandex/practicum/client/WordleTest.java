@@ -22,6 +22,7 @@ import static ru.yandex.practicum.TestsStubs.*;
 public class WordleTest {
     private static final String ANSWER = "арбуз";
     private static final String USERNAME = "DEN";
+    private static final int ONE_ATTEMPT = 1;
     private static final int TWO_ATTEMPTS = 2;
     private static final String SCENARIO_SKIP_SEND_RESULT = """
             ТыКвА
@@ -37,6 +38,11 @@ public class WordleTest {
             арбуз
             AB
             
+            """;
+    private static final String SCENARIO_AUTOCOMPLETE = """
+            арб*
+            арбуз
+            
             """;
     private static final String SCENARIO_USE_GUESS_RESULT = """
             
@@ -62,7 +68,7 @@ public class WordleTest {
     public static void init() throws IOException {
         logger = new Logger(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
         dictionary =
-                new WordleDictionaryLoader(logger).loadWords(WORDS_FILE, WordleGame.WORD_LENGTH, VALID_CHARS_REGEX);
+                new WordleDictionaryLoader(logger).loadWords(WORDS_FILE, WORDS_LENGTH, VALID_CHARS_REGEX);
     }
 
     @BeforeEach
@@ -111,6 +117,18 @@ public class WordleTest {
         assertEquals(TWO_ATTEMPTS, game.getUsedAttempts(), "Было две попытки");
     }
 
+    @Test
+    @DisplayName("Проверка, что запрос вариантов слова не тратит попытку")
+    public void playGame_RequestsCompletions_NoAttemptUsed() throws IOException, InterruptedException, WordleGameWordNotFoundInDictionary {
+        // given
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(SCENARIO_AUTOCOMPLETE.getBytes());
+        game.setAnswer(ANSWER);
+        // when
+        wordle.playGame(game, inputStream);
+        // then
+        assertEquals(ONE_ATTEMPT, game.getUsedAttempts(), "Была одна попытка");
+    }
+
     @Test
     @DisplayName("Проверка, что статистика отправляется")
     public void playGame_SendUserStatistic_StatisticSent() throws IOException, InterruptedException, WordleGameWordNotFoundInDictionary {